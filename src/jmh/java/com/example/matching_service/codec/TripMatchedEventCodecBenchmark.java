@@ -0,0 +1,64 @@
+package com.example.matching_service.codec;
+
+import com.example.matching_service.dto.MatchRequest;
+import com.example.matching_service.dto.kafka.TripMatchedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매칭 이벤트 코덱별 인코딩/디코딩 처리량 비교. 인코딩 크기는 시작 시 한 번 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TripMatchedEventCodecBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    private EventFormat format;
+
+    private TripMatchedEventCodec codec;
+    private TripMatchedEvent event;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        // 애플리케이션의 ObjectMapper와 같은 날짜 직렬화 설정
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                                                      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        codec = switch (format) {
+            case JSON -> new JsonTripMatchedEventCodec(objectMapper);
+            case BINARY -> new BinaryTripMatchedEventCodec();
+        };
+
+        event = new TripMatchedEvent(
+                UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                new MatchRequest.Location(127.027610, 37.497942),
+                new MatchRequest.Location(126.978388, 37.566610),
+                LocalDateTime.now());
+        encoded = codec.encode(event);
+        System.out.printf("%n[%s] 인코딩 크기: %d bytes%n", format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(event);
+    }
+
+    @Benchmark
+    public TripMatchedEvent decode() {
+        return codec.decode(encoded);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.matching_service.kafka;
+
+import com.example.matching_service.codec.JsonTripMatchedEventCodec;
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import com.example.matching_service.dto.MatchRequest;
+import com.example.matching_service.dto.kafka.TripMatchedEvent;
+import com.example.matching_service.entity.MatchingOutbox;
+import com.example.matching_service.support.CompletedMatchedEventSender;
+import com.example.matching_service.support.InMemoryOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MatchingOutboxRelay.publishEvents 한 배치(조회 -> PUBLISHING 표시 -> 비동기 전송 -> 벌크 상태 갱신)의 처리 비용.
+ * DB와 브로커 왕복은 제외하고 릴레이 자체의 배치 처리(aggregate 중복 확인, future 수집, ID 목록 구성)만 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OutboxRelayBenchmark {
+
+    @Param({"100", "500"})
+    private int batchSize;
+
+    private MatchingOutboxRelay relay;
+
+    @Setup
+    public void setUp() {
+        JsonTripMatchedEventCodec codec = new JsonTripMatchedEventCodec(
+                new ObjectMapper().registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+        List<MatchingOutbox> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            String tripId = UUID.randomUUID().toString();
+            TripMatchedEvent event = new TripMatchedEvent(tripId, "user-" + i, "driver-" + i,
+                    new MatchRequest.Location(127.027610, 37.497942),
+                    new MatchRequest.Location(126.978388, 37.566610),
+                    LocalDateTime.now());
+            MatchingOutbox outbox = MatchingOutbox.builder()
+                                                  .aggregateId(tripId)
+                                                  .shard(0)
+                                                  .topic("matching_events")
+                                                  .payload(codec.encode(event))
+                                                  .build();
+            batch.add(InMemoryOutboxRepository.withId(outbox, i + 1));
+        }
+
+        // publishEvents만 호출하므로 샤드 리스 관리자는 사용하지 않음
+        relay = new MatchingOutboxRelay(
+                InMemoryOutboxRepository.create(batch),
+                new CompletedMatchedEventSender(),
+                new InlineTransactionTemplate(),
+                MatchingPropertiesFixture.with(Map.of("matching.outbox-relay.batch-size", String.valueOf(batchSize))),
+                null,
+                new OutboxRelayMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public int publishEvents() {
+        return relay.publishEvents(0);
+    }
+
+    // 트랜잭션 매니저 없이 콜백만 실행
+    private static final class InlineTransactionTemplate extends TransactionTemplate {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            return action.doInTransaction(null);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.client.LocationServiceClient.NearbyDriver;
+import com.example.matching_service.codec.JsonTripMatchedEventCodec;
+import com.example.matching_service.config.BlockingExecutionConfig;
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.config.MatchingProperties.BlockingExecutor;
+import com.example.matching_service.config.MatchingProperties.SearchStrategy;
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import com.example.matching_service.dto.MatchRequest;
+import com.example.matching_service.dto.MatchResponse;
+import com.example.matching_service.geo.DriverGeoIndex;
+import com.example.matching_service.kafka.DriverStatusPublisher;
+import com.example.matching_service.status.DriverStatusMirror;
+import com.example.matching_service.support.InMemoryLocationServiceClient;
+import com.example.matching_service.support.InMemoryOutboxRepository;
+import com.example.matching_service.support.InMemoryReactiveRedisTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * requestMatch 전체 경로 (반경 검색 -> 후보 필터링 -> 예약 스크립트 -> Outbox 저장) 처리량.
+ * 외부 의존성은 메모리 대역으로 바꿨으므로 네트워크 왕복을 뺀 서비스 자체의 CPU/할당 비용을 측정한다.
+ * busyRatio만큼의 기사는 운행 중이라 후보 필터링(로컬 캐시, 일괄 상태 조회)을 거쳐야 예약 가능한 기사에 도달한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MatchingServiceBenchmark {
+
+    private static final int DRIVER_COUNT = 2000;
+    private static final int MAX_ACTIVE_TRIPS = 200;
+    private static final long SEED = 42L;
+
+    @Param({"WIDEST", "SEQUENTIAL"})
+    private SearchStrategy strategy;
+
+    @Param({"true", "false"})
+    private boolean batchEnabled;
+
+    @Param({"0.8"})
+    private double busyRatio;
+
+    @Param({"BOUNDED_ELASTIC", "VIRTUAL_THREADS"})
+    private BlockingExecutor blockingExecutor;
+
+    private Scheduler blockingScheduler;
+    private MatchingService matchingService;
+    private MatchRequest request;
+
+    @Setup
+    public void setUp() {
+        MatchingProperties properties = MatchingPropertiesFixture.with(Map.of(
+                "matching.search.strategy", strategy.name(),
+                "matching.candidate.batch-enabled", String.valueOf(batchEnabled),
+                "matching.execution.blocking-executor", blockingExecutor.name(),
+                // 단일 호출자가 linger만큼 기다리지 않도록 요청마다 저장하는 경로로 측정
+                "matching.outbox-writer.batch-enabled", "false"));
+        blockingScheduler = BlockingExecutionConfig.createScheduler(properties.execution());
+
+        InMemoryReactiveRedisTemplate redis = new InMemoryReactiveRedisTemplate(MAX_ACTIVE_TRIPS);
+        Random random = new Random(SEED);
+        List<NearbyDriver> drivers = new ArrayList<>(DRIVER_COUNT);
+        for (int i = 0; i < DRIVER_COUNT; i++) {
+            String driverId = "driver-" + i;
+            drivers.add(new NearbyDriver(driverId, random.nextDouble() * 3.0));
+            redis.putDriver(driverId, random.nextDouble() >= busyRatio);
+        }
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DriverAvailabilityCache availabilityCache = new DriverAvailabilityCache(redis, properties, meterRegistry);
+        redis.onTripCompleted(driverId -> availabilityCache.record(driverId, true));
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                                                      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        MatchedEventStore eventStore = new OutboxMatchedEventStore(
+                new JsonTripMatchedEventCodec(objectMapper), properties,
+                new OutboxBatchWriter(InMemoryOutboxRepository.create(), null, properties, event -> { }, blockingScheduler));
+
+        matchingService = new MatchingService(
+                new InMemoryLocationServiceClient(drivers),
+                redis,
+                eventStore,
+                properties,
+                availabilityCache,
+                new DriverGeoIndex(properties, meterRegistry),
+                new DriverStatusMirror(properties, meterRegistry),
+                new DriverStatusPublisher(null, properties), // 상태 미러 비활성 (발행하지 않음)
+                new MatchingMetrics(meterRegistry, properties),
+                new MatchRequestCoalescer(properties),
+                blockingScheduler);
+
+        request = new MatchRequest(
+                new MatchRequest.Location(127.027610, 37.497942),
+                new MatchRequest.Location(126.978388, 37.566610));
+    }
+
+    @TearDown
+    public void tearDown() {
+        blockingScheduler.dispose();
+    }
+
+    @Benchmark
+    public MatchResponse requestMatch() {
+        return matchingService.requestMatch("user-1", request).block();
+    }
+}
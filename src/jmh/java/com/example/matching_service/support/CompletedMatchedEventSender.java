@@ -0,0 +1,38 @@
+package com.example.matching_service.support;
+
+import com.example.matching_service.kafka.MatchedEventSender;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 브로커 왕복 없이 즉시 성공하는 발행 대역. (producer는 생성만 하고 send()에서 사용하지 않으므로 연결하지 않음)
+ */
+public class CompletedMatchedEventSender extends MatchedEventSender {
+
+    private static final CompletableFuture<Void> COMPLETED = CompletableFuture.completedFuture(null);
+
+    public CompletedMatchedEventSender() {
+        super(new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerConfig(StringSerializer.class))),
+              new DefaultKafkaProducerFactory<>(producerConfig(ByteArraySerializer.class)),
+              new KafkaProperties());
+    }
+
+    @Override
+    public CompletableFuture<?> send(String topic, String key, byte[] payload) {
+        return COMPLETED;
+    }
+
+    private static Map<String, Object> producerConfig(Class<?> valueSerializer) {
+        return Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092",
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.matching_service.support;
+
+import com.example.matching_service.client.InstanceLatencyTracker;
+import com.example.matching_service.client.LocationServiceClient;
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 위치 서비스 대역. 반경별 결과를 미리 계산해 두고 네트워크 없이 돌려준다.
+ */
+public class InMemoryLocationServiceClient extends LocationServiceClient {
+
+    private final List<NearbyDriver> drivers;
+    private final Map<Integer, List<NearbyDriver>> byRadius = new ConcurrentHashMap<>();
+
+    public InMemoryLocationServiceClient(List<NearbyDriver> drivers) {
+        // WebClient/서킷 브레이커/헤지 설정은 생성자 인자로만 필요하고 호출되지 않음
+        super(WebClient.builder(), "http://localhost", mock(ReactiveCircuitBreakerFactory.class),
+              MatchingPropertiesFixture.defaults(), new InstanceLatencyTracker(), new SimpleMeterRegistry());
+        this.drivers = new ArrayList<>(drivers);
+        this.drivers.sort(Comparator.comparingDouble(NearbyDriver::distance));
+    }
+
+    @Override
+    public Flux<NearbyDriver> findNearbyDrivers(double longitude, double latitude, int radiusKm) {
+        return Flux.fromIterable(byRadius.computeIfAbsent(radiusKm, radius ->
+                drivers.stream().filter(driver -> driver.distance() <= radius).toList()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.matching_service.support;
+
+import com.example.matching_service.entity.MatchingOutbox;
+import com.example.matching_service.repository.MatchingOutboxRepository;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox 저장소 대역. save()는 ID만 채워 돌려주고(누적하지 않음), 발행 대상 조회는 미리 준비한 배치를 돌려준다.
+ */
+public final class InMemoryOutboxRepository {
+
+    private static final Field ID_FIELD = idField();
+
+    private InMemoryOutboxRepository() {
+    }
+
+    public static MatchingOutboxRepository create() {
+        return create(List.of());
+    }
+
+    public static MatchingOutboxRepository create(List<MatchingOutbox> readyBatch) {
+        AtomicLong sequence = new AtomicLong();
+
+        return (MatchingOutboxRepository) Proxy.newProxyInstance(
+                MatchingOutboxRepository.class.getClassLoader(),
+                new Class<?>[]{MatchingOutboxRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> withId((MatchingOutbox) args[0], sequence.incrementAndGet());
+                    case "findEventsForPublishing" -> readyBatch;
+                    case "updateStatus" -> null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryOutboxRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static MatchingOutbox withId(MatchingOutbox outbox, long id) {
+        try {
+            ID_FIELD.set(outbox, id);
+            return outbox;
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Field idField() {
+        try {
+            Field field = MatchingOutbox.class.getDeclaredField("id");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
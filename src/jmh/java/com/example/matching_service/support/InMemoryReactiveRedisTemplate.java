@@ -0,0 +1,121 @@
+package com.example.matching_service.support;
+
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * MatchingService가 쓰는 Redis 명령만 메모리에서 흉내 내는 대역.
+ * 예약 스크립트는 실제 Lua 스크립트와 같은 결과 코드(0 예약 / 1 락 점유 / 2 배차 불가)를 돌려주고,
+ * 동시에 예약된 기사가 maxActiveTrips를 넘으면 가장 오래된 운행을 종료시켜 배차 가능 기사 수를 일정하게 유지한다.
+ */
+public class InMemoryReactiveRedisTemplate extends ReactiveRedisTemplate<String, String> {
+
+    private static final String STATUS_PREFIX = "driver_status:";
+    private static final String LOCK_PREFIX = "matching_lock:";
+
+    private final Map<String, String> statuses = new ConcurrentHashMap<>();
+    private final Set<String> locks = ConcurrentHashMap.newKeySet();
+    private final ArrayDeque<String> activeTrips = new ArrayDeque<>(); // this로 보호
+    private final int maxActiveTrips;
+    private volatile Consumer<String> tripCompletionListener = driverId -> { };
+
+    public InMemoryReactiveRedisTemplate(int maxActiveTrips) {
+        // 연결 팩토리는 생성자 검증용으로만 필요하고 사용되지 않음
+        super(mock(ReactiveRedisConnectionFactory.class), RedisSerializationContext.string());
+        this.maxActiveTrips = maxActiveTrips;
+    }
+
+    public void putDriver(String driverId, boolean available) {
+        statuses.put(STATUS_PREFIX + driverId, available ? "1" : "0");
+    }
+
+    // 다른 노드의 상태 변경 Pub/Sub 수신을 흉내 낼 때 사용 (예: DriverAvailabilityCache::record)
+    public void onTripCompleted(Consumer<String> listener) {
+        this.tripCompletionListener = listener;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> execute(RedisScript<T> script, List<String> keys, List<?> args) {
+        if (keys.get(0).startsWith(LOCK_PREFIX)) {
+            return Flux.just((T) reserve(keys.get(0), keys.get(1), (String) args.get(2)));
+        }
+        if (Long.class.equals(script.getResultType())) {
+            return Flux.just((T) release(keys.subList(1, keys.size())));
+        }
+        return Flux.just((T) checkAvailability(keys));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ReactiveValueOperations<String, String> opsForValue() {
+        return proxy(ReactiveValueOperations.class, (method, args) -> {
+            if (!method.equals("delete")) throw new UnsupportedOperationException(method);
+            return Mono.just(locks.remove((String) args[0]));
+        });
+    }
+
+    @Override
+    public Mono<Long> convertAndSend(String destination, String message) {
+        return Mono.just(0L);
+    }
+
+    private synchronized Long reserve(String lockKey, String statusKey, String driverId) {
+        if (!locks.add(lockKey)) return 1L;
+        if (!"1".equals(statuses.get(statusKey))) {
+            locks.remove(lockKey);
+            return 2L;
+        }
+
+        statuses.put(statusKey, "0");
+        activeTrips.add(driverId);
+        if (activeTrips.size() > maxActiveTrips) completeTrip(activeTrips.poll());
+        return 0L;
+    }
+
+    // 상태 복구 스크립트 (KEYS[1]은 운행 중 ZSET이라 제외하고 전달됨)
+    private synchronized Long release(List<String> statusKeys) {
+        statusKeys.forEach(key -> statuses.put(key, "1"));
+        return (long) statusKeys.size();
+    }
+
+    private void completeTrip(String driverId) {
+        statuses.put(STATUS_PREFIX + driverId, "1");
+        locks.remove(LOCK_PREFIX + driverId);
+        tripCompletionListener.accept(driverId);
+    }
+
+    private String checkAvailability(List<String> statusKeys) {
+        StringBuilder flags = new StringBuilder(statusKeys.size());
+        for (String key : statusKeys) {
+            flags.append("1".equals(statuses.get(key)) ? '1' : '0');
+        }
+        return flags.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, OperationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method.getName(), args));
+    }
+
+    @FunctionalInterface
+    private interface OperationHandler {
+        Object handle(String method, Object[] args);
+    }
+}
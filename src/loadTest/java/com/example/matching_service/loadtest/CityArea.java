@@ -0,0 +1,25 @@
+package com.example.matching_service.loadtest;
+
+import java.util.Random;
+
+/**
+ * 부하 테스트 대상 도시 영역 (서울 대략적 경계). 기사 위치와 요청 출발지를 이 안에서 균등하게 뽑는다.
+ */
+public final class CityArea {
+
+    static final double MIN_LONGITUDE = 126.80;
+    static final double MAX_LONGITUDE = 127.18;
+    static final double MIN_LATITUDE = 37.43;
+    static final double MAX_LATITUDE = 37.70;
+
+    private CityArea() {
+    }
+
+    static double randomLongitude(Random random) {
+        return MIN_LONGITUDE + random.nextDouble() * (MAX_LONGITUDE - MIN_LONGITUDE);
+    }
+
+    static double randomLatitude(Random random) {
+        return MIN_LATITUDE + random.nextDouble() * (MAX_LATITUDE - MIN_LATITUDE);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.matching_service.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * 프로세스 내 Redis(Lua 스크립트/PubSub 포함 실제 redis-server 바이너리)와 단일 노드 KRaft Kafka 브로커.
+ */
+@Slf4j
+public class EmbeddedInfrastructure implements AutoCloseable {
+
+    static final String MATCHING_EVENTS_TOPIC = "matching_events";
+
+    private final int redisPort = freePort();
+    private final RedisServer redisServer;
+    private final EmbeddedKafkaKraftBroker kafkaBroker;
+
+    public EmbeddedInfrastructure() throws IOException {
+        this.redisServer = new RedisServer(redisPort);
+        this.kafkaBroker = new EmbeddedKafkaKraftBroker(1, 3, MATCHING_EVENTS_TOPIC, "trip_events", "driver_locations");
+    }
+
+    public void start() throws IOException {
+        redisServer.start();
+        kafkaBroker.afterPropertiesSet();
+        log.info("🧪 [LoadTest] 내장 Redis(:{}) / Kafka({}) 시작", redisPort, kafkaBroker.getBrokersAsString());
+    }
+
+    public int redisPort() {
+        return redisPort;
+    }
+
+    public String kafkaBootstrapServers() {
+        return kafkaBroker.getBrokersAsString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        kafkaBroker.destroy();
+        redisServer.stop();
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.matching_service.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop 부하 발생기. 응답을 기다리지 않고 rate에 맞춰 정해진 시각에 요청을 발사하고,
+ * 지연은 "응답 시각 - 발사 예정 시각"으로 기록해 발생기 자체가 밀려서 생기는 지연(coordinated omission)까지 포함한다.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    public enum Outcome { MATCHED, NO_DRIVER, SERVER_ERROR, TIMEOUT_OR_IO_ERROR }
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+                                                    .version(HttpClient.Version.HTTP_1_1)
+                                                    .connectTimeout(Duration.ofSeconds(2))
+                                                    .build();
+    private final URI matchUri;
+    private final LoadTestOptions options;
+    private final Random random;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final ConcurrentHashMap<Outcome, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder inFlight = new LongAdder();
+    private volatile boolean measuring;
+
+    public LoadGenerator(int port, LoadTestOptions options) {
+        this.matchUri = URI.create("http://localhost:" + port + "/api/matches");
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    /**
+     * warmup 동안 발사한 요청은 집계에서 제외하고, duration 동안의 결과를 돌려준다.
+     * onMeasurementStart는 워밍업이 끝나는 순간 한 번 호출된다 (서버 측 지표 기준값 기록용).
+     */
+    public Histogram run(Runnable onMeasurementStart) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long startNanos = System.nanoTime();
+        long warmupEndNanos = startNanos + options.warmup().toNanos();
+        long endNanos = warmupEndNanos + options.duration().toNanos();
+        long sent = 0;
+
+        log.info("부하 시작: {} req/s, 워밍업 {}, 측정 {}", options.rate(), options.warmup(), options.duration());
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= endNanos) break;
+            if (!measuring && now >= warmupEndNanos) {
+                recorder.reset();
+                outcomes.clear();
+                measuring = true;
+                onMeasurementStart.run();
+                log.info("워밍업 종료, 측정 시작 (진행 중 요청 {}건)", inFlight.sum());
+            }
+
+            // 지금까지 발사했어야 하는 요청 수만큼 따라잡기 (예정 시각은 간격으로 고정)
+            long due = (now - startNanos) / intervalNanos + 1;
+            for (; sent < due; sent++) {
+                fire(startNanos + sent * intervalNanos);
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        awaitInFlight();
+        return recorder.getIntervalHistogram();
+    }
+
+    public long count(Outcome outcome) {
+        LongAdder adder = outcomes.get(outcome);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private void fire(long intendedStartNanos) {
+        boolean counted = measuring;
+        HttpRequest request = HttpRequest.newBuilder(matchUri)
+                                         .timeout(options.timeout())
+                                         .header("Content-Type", "application/json")
+                                         .header("X-User-Id", "load-user-" + random.nextInt(1_000_000))
+                                         .POST(HttpRequest.BodyPublishers.ofString(randomMatchRequest()))
+                                         .build();
+
+        inFlight.increment();
+        CompletableFuture<HttpResponse<Void>> response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        response.whenComplete((res, error) -> {
+            inFlight.decrement();
+            if (!counted) return;
+
+            recorder.recordValue(Math.min(System.nanoTime() - intendedStartNanos, HIGHEST_TRACKABLE_NANOS));
+            outcomes.computeIfAbsent(classify(res, error), key -> new LongAdder()).increment();
+        });
+    }
+
+    private Outcome classify(HttpResponse<Void> response, Throwable error) {
+        if (error != null) return Outcome.TIMEOUT_OR_IO_ERROR;
+        if (response.statusCode() == 200) return Outcome.MATCHED;
+        if (response.statusCode() == 400) return Outcome.NO_DRIVER; // GlobalExceptionHandler: 배차 가능한 기사 없음
+        return Outcome.SERVER_ERROR;
+    }
+
+    private String randomMatchRequest() {
+        return String.format(Locale.ROOT,
+                "{\"origin\":{\"longitude\":%.6f,\"latitude\":%.6f},\"destination\":{\"longitude\":%.6f,\"latitude\":%.6f}}",
+                CityArea.randomLongitude(random), CityArea.randomLatitude(random),
+                CityArea.randomLongitude(random), CityArea.randomLatitude(random));
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + options.timeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.sum() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+}
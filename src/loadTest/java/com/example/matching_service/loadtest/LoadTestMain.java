@@ -0,0 +1,150 @@
+package com.example.matching_service.loadtest;
+
+import com.example.matching_service.MatchingServiceApplication;
+import com.example.matching_service.service.MatchingService;
+import com.example.matching_service.service.ReservationResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 매칭 서비스 부하 테스트 진입점 (./gradlew loadTest).
+ * 실제 Redis(Lua 스크립트)와 Kafka, Outbox 릴레이까지 포함한 전체 경로에 open-loop 부하를 걸고
+ * p50/p99/p99.9 지연, 성공률, 기사 락 경합(LOCKED_BY_OTHER) 횟수를 보고한다.
+ *
+ * 부하 옵션 외의 --matching.* 인자는 애플리케이션 설정으로 그대로 전달된다. 예: --matching.search.strategy=HEDGED
+ */
+@Slf4j
+public class LoadTestMain {
+
+    private static final Path REPORT_DIR = Path.of("build", "load-test");
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Set<String> driversOnTrip = ConcurrentHashMap.newKeySet();
+
+        try (EmbeddedInfrastructure infrastructure = new EmbeddedInfrastructure();
+             StubServices stubs = new StubServices(options.drivers(), options.seed(), driversOnTrip)) {
+            infrastructure.start();
+            stubs.start();
+
+            try (ConfigurableApplicationContext context = startApplication(infrastructure, stubs, args)) {
+                seedDrivers(context.getBean(ReactiveStringRedisTemplate.class), stubs.driverIds());
+
+                try (TripSimulator trips = new TripSimulator(infrastructure.kafkaBootstrapServers(),
+                        context.getBean(MatchingService.class), options.tripTime(), driversOnTrip)) {
+                    trips.start();
+                    run(options, context, trips);
+                }
+            }
+        }
+        System.exit(0); // 내장 브로커/Netty 잔여 스레드 정리
+    }
+
+    private static ConfigurableApplicationContext startApplication(EmbeddedInfrastructure infrastructure, StubServices stubs, String[] args) {
+        Hooks.enableAutomaticContextPropagation();
+        String stubUri = "http://localhost:" + stubs.port();
+
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "spring.datasource.url=jdbc:h2:mem:matching;MODE=MySQL;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE", // MySQL 전용 rewriteBatchedStatements 무시
+                "spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create",
+                "spring.data.redis.host=localhost",
+                "spring.data.redis.port=" + infrastructure.redisPort(),
+                "spring.kafka.bootstrap-servers=" + infrastructure.kafkaBootstrapServers(),
+                "eureka.client.enabled=false",
+                "spring.cloud.discovery.client.simple.instances.geospatial-service[0].uri=" + stubUri,
+                "spring.cloud.discovery.client.simple.instances.trip-service[0].uri=" + stubUri,
+                "management.tracing.enabled=false"));
+        Arrays.stream(args)
+              .filter(arg -> arg.startsWith("--matching."))
+              .map(arg -> arg.substring(2))
+              .forEach(properties::add);
+
+        return new SpringApplicationBuilder(MatchingServiceApplication.class)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    private static void seedDrivers(ReactiveStringRedisTemplate redisTemplate, List<String> driverIds) {
+        Flux.fromIterable(driverIds)
+            .flatMap(driverId -> redisTemplate.opsForHash().put("driver_status:" + driverId, "isAvailable", "1"), 256)
+            .blockLast(Duration.ofMinutes(1));
+        log.info("🧪 [LoadTest] 기사 {}명 대기 상태로 초기화", driverIds.size());
+    }
+
+    private static void run(LoadTestOptions options, ConfigurableApplicationContext context, TripSimulator trips) throws IOException {
+        Counter lockContention = context.getBean(MeterRegistry.class)
+                                        .get("matching.reservation.attempts")
+                                        .tag("result", ReservationResult.LOCKED_BY_OTHER.name())
+                                        .counter();
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+        LoadGenerator generator = new LoadGenerator(port, options);
+
+        // 워밍업 구간 경합은 제외하기 위해 측정 시작 시점의 값을 기준으로 삼음
+        double[] contentionAtStart = new double[1];
+        Histogram latency = generator.run(() -> contentionAtStart[0] = lockContention.count());
+
+        report(options, generator, latency, (long) (lockContention.count() - contentionAtStart[0]), trips);
+    }
+
+    private static void report(LoadTestOptions options, LoadGenerator generator, Histogram latency, long lockContention, TripSimulator trips)
+            throws IOException {
+        long total = latency.getTotalCount();
+        long matched = generator.count(LoadGenerator.Outcome.MATCHED);
+
+        log.info("""
+                        
+                        ===== 매칭 부하 테스트 결과 ({} req/s, {}) =====
+                        요청 {}건: 매칭 {} / 기사 없음 {} / 5xx {} / 타임아웃·오류 {}
+                        성공률 {}%
+                        지연(ms) p50 {} / p90 {} / p99 {} / p99.9 {} / max {}
+                        기사 락 경합(LOCKED_BY_OTHER) {}건
+                        발행된 매칭 이벤트 {}건 / 종료된 운행 {}건""",
+                options.rate(), options.duration(),
+                total, matched, generator.count(LoadGenerator.Outcome.NO_DRIVER),
+                generator.count(LoadGenerator.Outcome.SERVER_ERROR), generator.count(LoadGenerator.Outcome.TIMEOUT_OR_IO_ERROR),
+                total == 0 ? 0 : String.format("%.2f", matched * 100.0 / total),
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                String.format("%.2f", latency.getMaxValue() / 1_000_000.0),
+                lockContention,
+                trips.matchedEvents(), trips.completedTrips());
+
+        Files.createDirectories(REPORT_DIR);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(REPORT_DIR.resolve("latency.hgrm")))) {
+            latency.outputPercentileDistribution(out, 1_000_000.0); // ms 단위
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(REPORT_DIR.resolve("latency.hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            writer.outputIntervalHistogram(latency);
+        }
+        log.info("지연 분포: {}", REPORT_DIR.resolve("latency.hgrm").toAbsolutePath());
+    }
+
+    private static String millis(Histogram histogram, double percentile) {
+        return String.format("%.2f", histogram.getValueAtPercentile(percentile) / 1_000_000.0);
+    }
+}
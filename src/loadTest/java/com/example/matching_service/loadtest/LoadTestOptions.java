@@ -0,0 +1,41 @@
+package com.example.matching_service.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 실행 인자 (--key=value). 예: ./gradlew loadTest -PloadTestArgs="--rate=5000 --duration=60s --drivers=20000"
+ */
+public record LoadTestOptions(
+        int rate,           // 초당 매칭 요청 수 (open-loop, 응답을 기다리지 않고 일정한 간격으로 발사)
+        Duration warmup,    // 측정에서 제외할 워밍업 시간
+        Duration duration,  // 측정 시간
+        int drivers,        // 도시 전체 기사 수
+        Duration tripTime,  // 매칭 후 운행 종료(기사 복구)까지 시간
+        Duration timeout,   // 요청 타임아웃 (초과 시 실패로 집계)
+        long seed           // 기사 위치/요청 좌표 난수 시드 (같은 시드면 같은 부하)
+) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("인자 형식은 --key=value 입니다: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("rate", "5000")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("drivers", "20000")),
+                DurationStyle.detectAndParse(values.getOrDefault("trip-time", "20s")),
+                DurationStyle.detectAndParse(values.getOrDefault("timeout", "5s")),
+                Long.parseLong(values.getOrDefault("seed", "42"))
+        );
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.matching_service.loadtest;
+
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.geo.DriverGeoIndex;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 위치 서비스(/api/locations/search)와 여정 서비스(/internal/drivers/{id}/in-progress, /internal/drivers/in-progress)의 HTTP 대역.
+ * 기사 위치는 시작 시 도시 영역에 고정 배치하고, 반경 검색은 애플리케이션의 DriverGeoIndex를 그대로 재사용한다.
+ */
+@Slf4j
+public class StubServices implements AutoCloseable {
+
+    private static final int MAX_RESULTS = 50;
+    private static final String IN_PROGRESS_PREFIX = "/internal/drivers/";
+
+    private final DriverGeoIndex fleet;
+    private final List<String> driverIds;
+    private final Set<String> driversOnTrip;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+    private HttpServer server;
+
+    public StubServices(int driverCount, long seed, Set<String> driversOnTrip) {
+        // 위치 갱신 없이 고정 배치하므로 위치 만료 시간을 길게 설정
+        MatchingProperties properties = new Binder(new MapConfigurationPropertySource(Map.of(
+                "matching.geo-index.enabled", "true",
+                "matching.geo-index.max-location-age", "1d")))
+                .bindOrCreate("matching", MatchingProperties.class);
+        this.fleet = new DriverGeoIndex(properties, new SimpleMeterRegistry());
+        this.driversOnTrip = driversOnTrip;
+
+        Random random = new Random(seed);
+        this.driverIds = new ArrayList<>(driverCount);
+        for (int i = 0; i < driverCount; i++) {
+            String driverId = "driver-" + i;
+            fleet.update(driverId, CityArea.randomLongitude(random), CityArea.randomLatitude(random));
+            driverIds.add(driverId);
+        }
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        server.createContext("/api/locations/search", this::handleSearch);
+        server.createContext(IN_PROGRESS_PREFIX, this::handleInProgress);
+        server.setExecutor(executor);
+        server.start();
+        log.info("🧪 [LoadTest] 위치/여정 서비스 대역 시작: http://localhost:{} (기사 {}명)", port(), driverIds.size());
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public List<String> driverIds() {
+        return driverIds;
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        Map<String, String> query = UriComponentsBuilder.fromUri(exchange.getRequestURI()).build().getQueryParams().toSingleValueMap();
+        double longitude = Double.parseDouble(query.get("longitude"));
+        double latitude = Double.parseDouble(query.get("latitude"));
+        int radiusKm = Integer.parseInt(query.get("radius"));
+
+        respond(exchange, objectMapper.writeValueAsBytes(fleet.findNearest(longitude, latitude, radiusKm, MAX_RESULTS)));
+    }
+
+    private void handleInProgress(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals(IN_PROGRESS_PREFIX + "in-progress")) {
+            // 일괄 조회: 기사 ID 목록 중 운행 중인 기사만 반환
+            List<String> driverIds = objectMapper.readValue(exchange.getRequestBody(), new TypeReference<List<String>>() {});
+            respond(exchange, objectMapper.writeValueAsBytes(driverIds.stream().filter(driversOnTrip::contains).toList()));
+            return;
+        }
+        String driverId = path.substring(IN_PROGRESS_PREFIX.length(), path.lastIndexOf('/'));
+
+        respond(exchange, String.valueOf(driversOnTrip.contains(driverId)).getBytes());
+    }
+
+    private void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (server != null) server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.matching_service.loadtest;
+
+import com.example.matching_service.codec.BinaryTripMatchedEventCodec;
+import com.example.matching_service.codec.EventFormat;
+import com.example.matching_service.dto.kafka.TripMatchedEvent;
+import com.example.matching_service.service.MatchingService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여정 서비스 역할: matching_events를 구독해 배정된 기사를 운행 중으로 두고, tripTime 뒤에 운행을 종료(기사 복구)한다.
+ * 이벤트가 Outbox/릴레이/Kafka를 거쳐 실제로 발행되는지도 함께 확인된다.
+ */
+@Slf4j
+public class TripSimulator implements AutoCloseable {
+
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final MatchingService matchingService;
+    private final Duration tripTime;
+    private final Set<String> driversOnTrip; // StubServices의 운행 여부 API와 공유
+    private final ScheduledExecutorService tripScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final BinaryTripMatchedEventCodec binaryCodec = new BinaryTripMatchedEventCodec();
+    private final LongAdder matchedEvents = new LongAdder();
+    private final LongAdder completedTrips = new LongAdder();
+    private Thread pollThread;
+    private volatile boolean running;
+
+    public TripSimulator(String bootstrapServers, MatchingService matchingService, Duration tripTime, Set<String> driversOnTrip) {
+        this.consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "load-test-trip-simulator",
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class));
+        this.matchingService = matchingService;
+        this.tripTime = tripTime;
+        this.driversOnTrip = driversOnTrip;
+    }
+
+    public long matchedEvents() {
+        return matchedEvents.sum();
+    }
+
+    public long completedTrips() {
+        return completedTrips.sum();
+    }
+
+    public void start() {
+        consumer.subscribe(List.of(EmbeddedInfrastructure.MATCHING_EVENTS_TOPIC));
+        running = true;
+        pollThread = new Thread(this::pollLoop, "load-test-trip-simulator");
+        pollThread.setDaemon(true);
+        pollThread.start();
+    }
+
+    private void pollLoop() {
+        try {
+            while (running) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(100))) {
+                    startTrip(decode(record.value()).driverId());
+                }
+            }
+        } catch (WakeupException e) {
+            // close()에서 종료 요청
+        } finally {
+            consumer.close();
+        }
+    }
+
+    private void startTrip(String driverId) {
+        matchedEvents.increment();
+        driversOnTrip.add(driverId);
+        tripScheduler.schedule(() -> {
+            driversOnTrip.remove(driverId);
+            matchingService.releaseDriver(driverId)
+                           .doOnSuccess(result -> completedTrips.increment())
+                           .subscribe(null, error -> log.warn("기사 복구 실패: {}. Error: {}", driverId, error.getMessage()));
+        }, tripTime.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private TripMatchedEvent decode(byte[] payload) {
+        if (EventFormat.detect(payload) == EventFormat.BINARY) return binaryCodec.decode(payload);
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            // JSON 모드는 문자열 payload를 JsonSerializer로 보내므로 한 번 더 감싸진 문자열로 도착함
+            if (node.isTextual()) node = objectMapper.readTree(node.asText());
+            return objectMapper.treeToValue(node, TripMatchedEvent.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("매칭 이벤트 파싱 실패", e);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        consumer.wakeup();
+        if (pollThread != null) pollThread.join(5000);
+        tripScheduler.shutdownNow();
+    }
+}
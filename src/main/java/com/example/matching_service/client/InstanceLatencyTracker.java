@@ -0,0 +1,94 @@
+package com.example.matching_service.client;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인스턴스(host:port)별 최근 응답 지연(EWMA)과 진행 중 요청 수. LatencyAwareLoadBalancer가 선택 비용으로 사용한다.
+ * filter()는 로드밸런서가 인스턴스를 고른 뒤의 URL을 보도록 @LoadBalanced 필터 뒤에 등록해야 한다.
+ */
+@Component
+public class InstanceLatencyTracker {
+
+    private static final double ALPHA = 0.3;                                          // 새 표본 가중치
+    private static final long STALE_NANOS = TimeUnit.SECONDS.toNanos(10);             // 이 시간 동안 표본이 없으면 다시 시도해 보도록 비용 초기화
+    private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);    // 연결 실패/5xx는 타임아웃만큼 느린 것으로 취급
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            InstanceStats instance = statsFor(key(request.url()));
+            long startNanos = System.nanoTime();
+            instance.inFlight.incrementAndGet();
+
+            return next.exchange(request)
+                       .doOnNext(response -> instance.record(response.statusCode().is5xxServerError()
+                               ? FAILURE_PENALTY_NANOS : System.nanoTime() - startNanos))
+                       .doOnError(error -> instance.record(FAILURE_PENALTY_NANOS))
+                       .doFinally(signal -> {
+                           instance.inFlight.decrementAndGet();
+                           // 헤지 요청에 밀려 취소됐다면 적어도 그만큼은 느렸다는 뜻이므로 지연을 올리는 쪽으로만 반영
+                           if (signal == SignalType.CANCEL) instance.recordAtLeast(System.nanoTime() - startNanos);
+                       });
+        };
+    }
+
+    /**
+     * 선택 비용 = 최근 지연 x (진행 중 요청 수 + 1). 표본이 없거나 오래된 인스턴스는 0이라 먼저 시도된다.
+     */
+    public double cost(ServiceInstance instance) {
+        InstanceStats instanceStats = stats.get(key(instance.getHost(), instance.getPort(), instance.isSecure()));
+        if (instanceStats == null) return 0;
+        return instanceStats.latencyNanos() * (instanceStats.inFlight.get() + 1);
+    }
+
+    void record(String instanceKey, long latencyNanos) {
+        statsFor(instanceKey).record(latencyNanos);
+    }
+
+    private InstanceStats statsFor(String instanceKey) {
+        return stats.computeIfAbsent(instanceKey, k -> new InstanceStats());
+    }
+
+    private static String key(URI uri) {
+        return key(uri.getHost(), uri.getPort(), "https".equalsIgnoreCase(uri.getScheme()));
+    }
+
+    static String key(String host, int port, boolean secure) {
+        return host + ":" + (port >= 0 ? port : secure ? 443 : 80);
+    }
+
+    private static final class InstanceStats {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile double ewmaNanos;
+        private volatile long updatedAtNanos;
+
+        // 동시 갱신 시 한쪽 표본이 유실될 수 있으나 추정치라 허용
+        private void record(long latencyNanos) {
+            ewmaNanos = updatedAtNanos == 0 || isStale() ? latencyNanos : ewmaNanos + ALPHA * (latencyNanos - ewmaNanos);
+            updatedAtNanos = System.nanoTime();
+        }
+
+        private void recordAtLeast(long latencyNanos) {
+            if (latencyNanos > latencyNanos()) record(latencyNanos);
+        }
+
+        private double latencyNanos() {
+            return updatedAtNanos == 0 || isStale() ? 0 : ewmaNanos;
+        }
+
+        private boolean isStale() {
+            return System.nanoTime() - updatedAtNanos > STALE_NANOS;
+        }
+    }
+}
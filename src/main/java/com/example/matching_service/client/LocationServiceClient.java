@@ -1,45 +1,140 @@
 package com.example.matching_service.client;
 
+import com.example.matching_service.config.MatchingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class LocationServiceClient {
+
+    private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double MAX_HEDGE_TOKENS = 10; // 헤지 예산 누적 상한 (순간적으로 몰릴 때 허용할 헤지 수)
+
     private final WebClient webClient;
     private final ReactiveCircuitBreaker circuitBreaker;
+    private final MatchingProperties.LocationClient config;
+    private final Timer callTimer;
+    private final Counter hedgeCounter;
 
-    public record NearbyDriver(String driverId, Double distance) {}
+    private double hedgeTokens; // this로 보호
+    private volatile long hedgeDelayNanos;
+    private volatile long hedgeDelayRefreshedAt;
+
+    // 위치 서비스가 거리를 주지 않으면 distance는 NaN
+    public record NearbyDriver(String driverId, double distance) {}
 
     public LocationServiceClient(WebClient.Builder builder,
                                  @Value("${services.location-service.url}") String serviceUrl,
-                                 ReactiveCircuitBreakerFactory cbFactory) {
+                                 ReactiveCircuitBreakerFactory cbFactory,
+                                 MatchingProperties properties,
+                                 InstanceLatencyTracker latencyTracker,
+                                 MeterRegistry meterRegistry) {
         log.info("Location Service URL: {}", serviceUrl);
-        this.webClient = builder.baseUrl(serviceUrl).build();
+        // 공유 빌더에 필터가 남지 않도록 복제해서 사용 (지연 측정 필터는 @LoadBalanced 필터 뒤에서 실제 인스턴스 주소를 봄)
+        this.webClient = builder.clone().baseUrl(serviceUrl).filter(latencyTracker.filter()).build();
         this.circuitBreaker = cbFactory.create("geospatial-service");
+        this.config = properties.locationClient();
+        this.callTimer = Timer.builder("matching.geo.remote.call.latency")
+                              .description("위치 서비스 요청 한 건의 응답 시간 (헤지 대기 시간 산출에 사용)")
+                              .publishPercentiles(config.hedgePercentile())
+                              .register(meterRegistry);
+        this.hedgeCounter = Counter.builder("matching.geo.hedge.requests")
+                                   .description("첫 요청이 늦어 다른 인스턴스로 보낸 헤지 요청 수")
+                                   .register(meterRegistry);
+        this.hedgeDelayNanos = config.hedgeMaxDelay().toNanos();
     }
 
     public Flux<NearbyDriver> findNearbyDrivers(double longitude, double latitude, int radiusKm) {
-        Flux<NearbyDriver> apiCall = webClient.get()
-                                              .uri(uriBuilder -> uriBuilder
-                                                      .path("/api/locations/search")
-                                                      .queryParam("longitude", longitude)
-                                                      .queryParam("latitude", latitude)
-                                                      .queryParam("radius", radiusKm)
-                                                      .build())
-                                              .retrieve()
-                                              .bodyToFlux(NearbyDriver.class);
-
-        return circuitBreaker.run(apiCall, throwable -> {
+        // 응답 헤더 도착까지를 호출 지연으로 보고, 본문은 받는 대로 기사 단위로 파싱해 흘려보냄
+        // 예약에 성공해 구독이 취소되면 남은 본문은 읽지 않고 교환을 정리함
+        Mono<ResponseEntity<Flux<DataBuffer>>> search = Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return webClient.get()
+                            .uri(uriBuilder -> uriBuilder
+                                    .path("/api/locations/search")
+                                    .queryParam("longitude", longitude)
+                                    .queryParam("latitude", latitude)
+                                    .queryParam("radius", radiusKm)
+                                    .build())
+                            .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                            .retrieve()
+                            .toEntityFlux(DataBuffer.class)
+                            .doOnSuccess(response -> callTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+        });
+
+        Mono<ResponseEntity<Flux<DataBuffer>>> apiCall = config.hedgeEnabled() ? hedged(search) : search;
+        Flux<NearbyDriver> drivers = apiCall.flatMapMany(response -> NearbyDriverDecoder.decode(response.getBody()));
+
+        return circuitBreaker.run(drivers, throwable -> {
             log.warn("위치 서비스(Geospatial) 호출 실패 또는 서킷 오픈. coords: {},{}, radius: {}km. Error: {}",
                     longitude, latitude, radiusKm, throwable.getMessage());
 
             return Flux.empty();
         });
     }
-}
\ No newline at end of file
+
+    // 첫 요청의 응답 헤더가 hedgeDelay 안에 오지 않으면 한 번 더 요청하고 먼저 도착한 응답의 본문을 사용 (나머지는 취소)
+    // 두 번째 요청은 로드밸런서가 진행 중 요청이 있는 인스턴스를 피하므로 대개 다른 인스턴스로 감
+    private Mono<ResponseEntity<Flux<DataBuffer>>> hedged(Mono<ResponseEntity<Flux<DataBuffer>>> search) {
+        return Mono.defer(() -> {
+            depositHedgeToken();
+            Mono<ResponseEntity<Flux<DataBuffer>>> hedge = Mono.delay(Duration.ofNanos(hedgeDelayNanos()))
+                                                               .filter(tick -> tryWithdrawHedgeToken())
+                                                               .flatMap(tick -> {
+                                                                   hedgeCounter.increment();
+                                                                   return search;
+                                                               });
+            return Mono.firstWithValue(search, hedge)
+                       .doOnDiscard(ResponseEntity.class, LocationServiceClient::releaseBody);
+        });
+    }
+
+    // 거의 동시에 도착해 선택되지 못한 응답은 본문을 끝까지 받아 버퍼를 반환해야 연결이 풀로 돌아감
+    private static void releaseBody(ResponseEntity<?> response) {
+        if (response.getBody() instanceof Flux<?> body) {
+            body.subscribe(item -> DataBufferUtils.release((DataBuffer) item), error -> { });
+        }
+    }
+
+    private synchronized void depositHedgeToken() {
+        hedgeTokens = Math.min(hedgeTokens + config.hedgeBudgetRatio(), MAX_HEDGE_TOKENS);
+    }
+
+    private synchronized boolean tryWithdrawHedgeToken() {
+        if (hedgeTokens < 1) return false;
+        hedgeTokens -= 1;
+        return true;
+    }
+
+    // 최근 응답 지연의 분위수를 초당 한 번만 다시 계산 (측정값이 없으면 상한 사용)
+    private long hedgeDelayNanos() {
+        long now = System.nanoTime();
+        if (now - hedgeDelayRefreshedAt > HEDGE_DELAY_REFRESH_NANOS) {
+            hedgeDelayRefreshedAt = now;
+            long delay = config.hedgeMaxDelay().toNanos();
+            for (ValueAtPercentile percentile : callTimer.takeSnapshot().percentileValues()) {
+                if (percentile.value() > 0) delay = (long) percentile.value(TimeUnit.NANOSECONDS);
+            }
+            hedgeDelayNanos = Math.clamp(delay, config.hedgeMinDelay().toNanos(), config.hedgeMaxDelay().toNanos());
+        }
+        return hedgeDelayNanos;
+    }
+}
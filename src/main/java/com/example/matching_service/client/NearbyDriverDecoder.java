@@ -0,0 +1,126 @@
+package com.example.matching_service.client;
+
+import com.example.matching_service.client.LocationServiceClient.NearbyDriver;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 위치 서비스 검색 응답(JSON 배열 또는 NDJSON)을 DataBuffer가 도착하는 대로 파싱해 기사 한 명씩 내보내는 스트리밍 디코더.
+ * 논블로킹 Jackson 파서에 수신 버퍼를 복사 없이 넘기고, 토큰을 다 소비하면 곧바로 버퍼를 반환한다.
+ * 응답 전체를 List로 모으지 않으므로 요청당 메모리는 응답 크기와 관계없이 일정하고,
+ * 구독이 취소되면(예약 성공) 남은 응답은 읽지 않은 채 HTTP 교환이 정리된다.
+ */
+final class NearbyDriverDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    private boolean inDriver;
+    private int nestedDepth;  // 기사 객체 안에서 무시하는 하위 객체/배열 깊이
+    private String fieldName;
+    private String driverId;
+    private double distance;
+
+    private NearbyDriverDecoder() throws IOException {
+        this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    static Flux<NearbyDriver> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            NearbyDriverDecoder decoder = create();
+            // prefetch 1: 앞 버퍼의 기사를 다 내보낸 뒤에만 다음 버퍼를 요청 (취소 시 더 읽지 않음)
+            return body.concatMapIterable(decoder::feed, 1)
+                       .concatWith(Flux.defer(() -> Flux.fromIterable(decoder.finish())));
+        }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private static NearbyDriverDecoder create() {
+        try {
+            return new NearbyDriverDecoder();
+        } catch (IOException e) {
+            throw new DecodingException("위치 서비스 응답 파서 생성 실패", e);
+        }
+    }
+
+    // 파서는 넘겨받은 ByteBuffer를 참조만 하므로, 토큰을 NOT_AVAILABLE까지 모두 꺼낸 뒤에 버퍼를 반환해야 함
+    private List<NearbyDriver> feed(DataBuffer buffer) {
+        List<NearbyDriver> drivers = new ArrayList<>();
+        try (DataBuffer.ByteBufferIterator byteBuffers = buffer.readableByteBuffers()) {
+            while (byteBuffers.hasNext()) {
+                feeder.feedInput(byteBuffers.next());
+                drain(drivers);
+            }
+        } catch (IOException e) {
+            throw new DecodingException("위치 서비스 응답 파싱 실패: " + e.getMessage(), e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+        return drivers;
+    }
+
+    private List<NearbyDriver> finish() {
+        List<NearbyDriver> drivers = new ArrayList<>(1);
+        try {
+            feeder.endOfInput();
+            drain(drivers);
+            parser.close();
+        } catch (IOException e) {
+            throw new DecodingException("위치 서비스 응답 파싱 실패: " + e.getMessage(), e);
+        }
+        if (inDriver) throw new DecodingException("위치 서비스 응답이 기사 항목 중간에 끝났습니다.");
+        return drivers;
+    }
+
+    private void drain(List<NearbyDriver> drivers) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            onToken(token, drivers);
+        }
+    }
+
+    // 최상위 배열/NDJSON 구분 없이, 기사 객체 밖에서 시작하는 객체를 기사 한 명으로 봄
+    private void onToken(JsonToken token, List<NearbyDriver> drivers) throws IOException {
+        if (!inDriver) {
+            if (token == JsonToken.START_OBJECT) {
+                inDriver = true;
+                driverId = null;
+                distance = Double.NaN;
+            }
+            return;
+        }
+        if (nestedDepth > 0) {
+            if (token.isStructStart()) nestedDepth++;
+            else if (token.isStructEnd()) nestedDepth--;
+            return;
+        }
+        switch (token) {
+            case FIELD_NAME -> fieldName = parser.currentName();
+            case START_OBJECT, START_ARRAY -> nestedDepth++;
+            case END_OBJECT -> {
+                inDriver = false;
+                if (driverId != null) drivers.add(new NearbyDriver(driverId, distance));
+            }
+            case VALUE_STRING -> {
+                if ("driverId".equals(fieldName)) driverId = parser.getText();
+            }
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                if ("distance".equals(fieldName)) distance = parser.getDoubleValue();
+                else if ("driverId".equals(fieldName)) driverId = parser.getText();
+            }
+            default -> { } // null, boolean 등은 무시 (distance가 null이면 NaN 유지)
+        }
+    }
+}
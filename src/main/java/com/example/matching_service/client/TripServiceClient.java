@@ -2,12 +2,17 @@ package com.example.matching_service.client;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @Component
 @Slf4j
 public class TripServiceClient {
@@ -39,4 +44,23 @@ public class TripServiceClient {
             return Mono.just(true);
         });
     }
+
+    /**
+     * 여러 기사 중 실제로 운행 중인 기사만 돌려준다 (한 번의 요청으로 정합성 검사 배치를 처리).
+     */
+    public Mono<Set<String>> findDriversOnTrip(List<String> driverIds) {
+        Mono<Set<String>> apiCall = webClient.post()
+                                             .uri("/internal/drivers/in-progress")
+                                             .bodyValue(driverIds)
+                                             .retrieve()
+                                             .bodyToMono(new ParameterizedTypeReference<Set<String>>() {});
+
+        return circuitBreaker.run(apiCall, throwable -> {
+            log.warn("❌ 여정 서비스(Trip) 일괄 조회 실패 또는 서킷 오픈. 기사 {}명. Error: {}",
+                    driverIds.size(), throwable.getMessage());
+
+            // 단건 조회와 같은 이유로 전부 "운행 중"으로 간주해 상태를 초기화하지 않음
+            return Mono.just(new HashSet<>(driverIds));
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.example.matching_service.codec;
+
+import com.example.matching_service.dto.MatchRequest;
+import com.example.matching_service.dto.kafka.TripMatchedEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * 필드 이름 없이 정해진 순서로 값만 기록하는 바이너리 포맷.
+ *
+ * <pre>
+ * v1 = [0x00 magic][0x01 version][tripId][userId][driverId][origin][destination][matchedAt]
+ * 문자열   = varint 헤더 (0: null, 1: UUID 16바이트가 뒤따름, n>=2: UTF-8 n-2바이트가 뒤따름)
+ * 위치     = [byte 0|1] + [double longitude][double latitude]   (좌표가 null이면 NaN)
+ * 매칭시각 = [byte 0|1] + [zigzag varlong UTC epochSecond][varint nano]
+ * </pre>
+ * 필드를 추가할 때는 버전을 올리고 기존 필드 뒤에 붙인다. 모르는 버전은 디코딩하지 않는다.
+ */
+public class BinaryTripMatchedEventCodec implements TripMatchedEventCodec {
+
+    static final byte MAGIC = 0x00;
+    static final byte VERSION = 1;
+
+    private static final int STRING_NULL = 0;
+    private static final int STRING_UUID = 1;
+    private static final int STRING_OFFSET = 2;
+    private static final int INITIAL_CAPACITY = 128;
+
+    @Override
+    public EventFormat format() {
+        return EventFormat.BINARY;
+    }
+
+    @Override
+    public byte[] encode(TripMatchedEvent event) {
+        Writer out = new Writer();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeString(event.tripId());
+        out.writeString(event.userId());
+        out.writeString(event.driverId());
+        out.writeLocation(event.origin());
+        out.writeLocation(event.destination());
+        out.writeDateTime(event.matchedAt());
+        return out.toByteArray();
+    }
+
+    @Override
+    public TripMatchedEvent decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        if (payload.length < 2 || in.get() != MAGIC) {
+            throw new IllegalArgumentException("바이너리 매칭 이벤트가 아닙니다");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 매칭 이벤트 버전: " + version);
+        }
+
+        return new TripMatchedEvent(
+                readString(in),
+                readString(in),
+                readString(in),
+                readLocation(in),
+                readLocation(in),
+                readDateTime(in)
+        );
+    }
+
+    private static String readString(ByteBuffer in) {
+        int header = readVarInt(in);
+        if (header == STRING_NULL) return null;
+        if (header == STRING_UUID) return new UUID(in.getLong(), in.getLong()).toString();
+
+        int length = header - STRING_OFFSET;
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static MatchRequest.Location readLocation(ByteBuffer in) {
+        if (in.get() == 0) return null;
+        return new MatchRequest.Location(nullIfNaN(in.getDouble()), nullIfNaN(in.getDouble()));
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer in) {
+        if (in.get() == 0) return null;
+        long encoded = readVarLong(in);
+        long epochSecond = (encoded >>> 1) ^ -(encoded & 1);
+        return LocalDateTime.ofEpochSecond(epochSecond, readVarInt(in), ZoneOffset.UTC);
+    }
+
+    private static Double nullIfNaN(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("잘못된 varint");
+    }
+
+    // 소문자 정규형 UUID 문자열만 16바이트로 줄인다 (디코딩 시 UUID.toString()과 정확히 같아야 하므로)
+    private static boolean isCanonicalUuid(String value) {
+        if (value.length() != 36) return false;
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return false;
+            } else if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHex(String value, int from, int to, long acc) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c == '-') continue;
+            acc = (acc << 4) | Character.digit(c, 16);
+        }
+        return acc;
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[INITIAL_CAPACITY];
+        private int position;
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(STRING_NULL);
+            } else if (isCanonicalUuid(value)) {
+                writeVarLong(STRING_UUID);
+                writeLong(parseHex(value, 0, 18, 0));
+                writeLong(parseHex(value, 19, 36, 0));
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(bytes.length + STRING_OFFSET);
+                ensure(bytes.length);
+                System.arraycopy(bytes, 0, buffer, position, bytes.length);
+                position += bytes.length;
+            }
+        }
+
+        void writeLocation(MatchRequest.Location location) {
+            if (location == null) {
+                writeByte(0);
+                return;
+            }
+            writeByte(1);
+            writeLong(Double.doubleToRawLongBits(location.longitude() != null ? location.longitude() : Double.NaN));
+            writeLong(Double.doubleToRawLongBits(location.latitude() != null ? location.latitude() : Double.NaN));
+        }
+
+        void writeDateTime(LocalDateTime dateTime) {
+            if (dateTime == null) {
+                writeByte(0);
+                return;
+            }
+            writeByte(1);
+            long epochSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+            writeVarLong((epochSecond << 1) ^ (epochSecond >> 63));
+            writeVarLong(dateTime.getNano());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensure(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+    }
+}
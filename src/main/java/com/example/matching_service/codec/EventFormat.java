@@ -0,0 +1,13 @@
+package com.example.matching_service.codec;
+
+public enum EventFormat {
+    JSON,
+    BINARY; // BinaryTripMatchedEventCodec (첫 바이트가 0x00인 버전 헤더로 시작)
+
+    /**
+     * 인코딩된 바이트만으로 포맷을 판별한다. JSON 텍스트는 0x00으로 시작할 수 없으므로 포맷 전환 중에 섞인 행도 구분된다.
+     */
+    public static EventFormat detect(byte[] payload) {
+        return payload.length > 0 && payload[0] == BinaryTripMatchedEventCodec.MAGIC ? BINARY : JSON;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.matching_service.codec;
+
+import com.example.matching_service.dto.kafka.TripMatchedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * 기존 JSON 포맷 (하위 호환용 기본값)
+ */
+@RequiredArgsConstructor
+public class JsonTripMatchedEventCodec implements TripMatchedEventCodec {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public EventFormat format() {
+        return EventFormat.JSON;
+    }
+
+    @Override
+    public byte[] encode(TripMatchedEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new IllegalStateException("JSON 변환 실패", e);
+        }
+    }
+
+    @Override
+    public TripMatchedEvent decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, TripMatchedEvent.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON 파싱 실패", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.matching_service.codec;
+
+import com.example.matching_service.dto.kafka.TripMatchedEvent;
+
+/**
+ * Outbox/저널 저장과 Kafka 발행에 쓰는 매칭 이벤트 인코딩. (matching.event-codec.format으로 선택)
+ */
+public interface TripMatchedEventCodec {
+
+    EventFormat format();
+
+    byte[] encode(TripMatchedEvent event);
+
+    TripMatchedEvent decode(byte[] payload);
+}
@@ -0,0 +1,33 @@
+package com.example.matching_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * JPA 저장처럼 리액티브 체인 안에서 블로킹 호출을 실행할 스케줄러.
+ * matching.execution.blocking-executor로 boundedElastic과 작업당 가상 스레드 중에서 고른다.
+ */
+@Configuration
+@Slf4j
+public class BlockingExecutionConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(MatchingProperties properties) {
+        log.info("블로킹 구간 실행 방식: {}", properties.execution().blockingExecutor());
+        return createScheduler(properties.execution());
+    }
+
+    public static Scheduler createScheduler(MatchingProperties.Execution execution) {
+        if (execution.virtualThreads()) {
+            return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "matching-virtual");
+        }
+        // 공유 인스턴스를 그대로 쓰면 컨텍스트 종료 시 dispose되어 다른 사용처까지 멈추므로 전용 인스턴스 생성
+        return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                                            Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "matching-blocking");
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.matching_service.config;
+
+import com.example.matching_service.codec.BinaryTripMatchedEventCodec;
+import com.example.matching_service.codec.JsonTripMatchedEventCodec;
+import com.example.matching_service.codec.TripMatchedEventCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EventCodecConfig {
+
+    @Bean
+    public TripMatchedEventCodec tripMatchedEventCodec(MatchingProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.eventCodec().format()) {
+            case JSON -> new JsonTripMatchedEventCodec(objectMapper);
+            case BINARY -> new BinaryTripMatchedEventCodec();
+        };
+    }
+}
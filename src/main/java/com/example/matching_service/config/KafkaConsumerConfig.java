@@ -2,11 +2,15 @@ package com.example.matching_service.config;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.dao.DataAccessException;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.ContainerProperties;
@@ -22,6 +26,9 @@ import org.springframework.web.client.ResourceAccessException;
 @RequiredArgsConstructor
 public class KafkaConsumerConfig {
 
+    public static final String BATCH_LISTENER_FACTORY = "batchKafkaListenerContainerFactory";
+    public static final String STATUS_MIRROR_LISTENER_FACTORY = "statusMirrorKafkaListenerContainerFactory";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     @Bean
@@ -29,7 +36,11 @@ public class KafkaConsumerConfig {
 
         FixedBackOff backOff = new FixedBackOff(1000L, 3);
 
-        DefaultErrorHandler errorHandler = new DefaultErrorHandler(backOff);
+        // 재시도를 모두 소진한 레코드는 {topic}.DLT로 이동 (파티션은 브로커가 결정)
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, ex) -> new TopicPartition(record.topic() + ".DLT", -1));
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
 
         errorHandler.setRetryListeners((record, ex, attempt) ->
                 log.warn(
@@ -68,4 +79,47 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
-}
\ No newline at end of file
+    // poll 단위(max.poll.records)로 받아 한 번에 처리하고 배치 단위로 커밋
+    // 리스너가 BatchListenerFailedException으로 실패 레코드를 지목하면 그 앞까지 커밋하고 해당 레코드만 재시도/DLT 처리
+    @Bean(BATCH_LISTENER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            DefaultErrorHandler errorHandler) {
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setCommonErrorHandler(errorHandler);
+        factory.setConcurrency(3);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.getContainerProperties().setObservationEnabled(true);
+
+        return factory;
+    }
+
+    // 로컬 기사 상태 미러 재생용. 파티션 순서대로 한 스레드가 반영하고, idle 이벤트로 따라잡았는지 판단
+    // 오프셋은 기동 시 스냅샷 기준으로 직접 이동하므로 커밋 실패나 재시도 없이 다음 레코드로 진행
+    @Bean(STATUS_MIRROR_LISTENER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, Object> statusMirrorKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            MatchingProperties properties) {
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(1);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.getContainerProperties().setIdleEventInterval(properties.statusMirror().catchUpIdle().toMillis());
+
+        return factory;
+    }
+
+    // 기사마다 마지막 상태만 남도록 compacted 토픽으로 생성 (파티션/복제 수는 브로커 기본값)
+    @Bean
+    @ConditionalOnProperty(name = "matching.status-mirror.enabled", havingValue = "true")
+    public NewTopic driverStatusTopic(MatchingProperties properties) {
+        return TopicBuilder.name(properties.statusMirror().topic())
+                           .compact()
+                           .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.matching_service.config;
+
+import com.example.matching_service.client.InstanceLatencyTracker;
+import com.example.matching_service.client.LatencyAwareLoadBalancer;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * {@code @LoadBalancerClient}로 지정한 서비스의 자식 컨텍스트에만 적용되는 설정.
+ * 모든 서비스에 적용되지 않도록 @Configuration을 붙이지 않는다 (컴포넌트 스캔 제외).
+ */
+public class LatencyAwareLoadBalancerConfig {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                         InstanceLatencyTracker latencyTracker) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, latencyTracker);
+    }
+}
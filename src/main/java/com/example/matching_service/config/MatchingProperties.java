@@ -0,0 +1,181 @@
+package com.example.matching_service.config;
+
+import com.example.matching_service.codec.EventFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+@Validated
+@ConfigurationProperties(prefix = "matching")
+public record MatchingProperties(
+        @DefaultValue("local") String instanceId, // 인스턴스별 컨슈머 그룹 이름에 쓰는 고정 ID (재시작해도 같은 그룹을 재사용)
+        @DefaultValue Candidate candidate,
+        @Valid @DefaultValue Search search,
+        @DefaultValue AvailabilityCache availabilityCache,
+        @DefaultValue GeoIndex geoIndex,
+        @DefaultValue StatusMirror statusMirror,
+        @DefaultValue LocationClient locationClient,
+        @DefaultValue OutboxRelay outboxRelay,
+        @DefaultValue OutboxWriter outboxWriter,
+        @DefaultValue Journal journal,
+        @DefaultValue EventCodec eventCodec,
+        @DefaultValue Coalescing coalescing,
+        @DefaultValue Async async,
+        @DefaultValue Admission admission,
+        @DefaultValue Idempotency idempotency,
+        @DefaultValue Reconciliation reconciliation,
+        @DefaultValue Execution execution
+) {
+
+    public record Candidate(
+            @DefaultValue("true") boolean batchEnabled,   // 상위 N명의 상태를 한 번에 조회해 불가 기사를 먼저 걸러냄 (false면 한 명씩 순차 예약 시도)
+            @DefaultValue("20") int batchSize,           // 한 번에 상태를 조회할 후보 수 (N)
+            @DefaultValue("true") boolean fallbackOnError // 일괄 조회 실패 시 해당 배치를 순차 예약 시도로 대체 (false면 배치를 건너뜀)
+    ) {}
+
+    public record Search(
+            @DefaultValue("SEQUENTIAL") SearchStrategy strategy,                 // 반경 확장 검색 방식
+            @NotEmpty @DefaultValue({"1", "2", "3"}) List<@Positive Integer> radiiKm // 안쪽부터 확장할 반경 단계 (km, 오름차순)
+    ) {
+
+        // 링 계산(안쪽 반경 < 기사 거리 <= 바깥 반경)이 오름차순을 전제로 하므로 기동 시 검증
+        @AssertTrue(message = "matching.search.radii-km은 중복 없이 오름차순이어야 합니다.")
+        public boolean isRadiiAscending() {
+            if (radiiKm == null) return true; // @NotEmpty에서 검증
+            for (int i = 1; i < radiiKm.size(); i++) {
+                if (radiiKm.get(i) <= radiiKm.get(i - 1)) return false;
+            }
+            return true;
+        }
+    }
+
+    public record AvailabilityCache(
+            @DefaultValue("true") boolean enabled,                   // 운행 중으로 알려진 기사는 Redis 조회 없이 후보에서 제외
+            @DefaultValue("50000") long maxSize,                     // 로컬에 보관할 최대 기사 수 (초과 시 LRU 방식으로 축출)
+            @DefaultValue("5s") Duration ttl,                        // 이벤트를 놓쳤을 때를 대비한 항목 만료 시간
+            @DefaultValue("driver_status_changes") String channel    // 상태 변경 Pub/Sub 채널
+    ) {}
+
+    public record GeoIndex(
+            @DefaultValue("false") boolean enabled,                 // 위치 업데이트 스트림으로 로컬 공간 인덱스를 유지하고 우선 조회
+            @DefaultValue("driver_locations") String topic,         // 기사 위치 업데이트 토픽
+            @DefaultValue("0.01") double cellSizeDeg,               // 그리드 셀 크기 (위/경도, 약 1.1km)
+            @DefaultValue("30s") Duration maxLocationAge,           // 이 시간 이상 갱신되지 않은 위치는 검색에서 제외
+            @DefaultValue("50") int maxCandidates,                  // 반경별 k-최근접 후보 수
+            @DefaultValue("true") boolean remoteFallback            // 인덱스가 준비되지 않았거나 로컬 조회 결과가 비었을 때 위치 서비스 호출로 대체
+    ) {}
+
+    public record StatusMirror(
+            @DefaultValue("false") boolean enabled,            // 기사 상태 전이를 compacted 토픽으로 발행하고, 인스턴스마다 로컬 테이블로 유지해 후보 사전 필터에 사용
+            @DefaultValue("driver_status") String topic,       // 기사 상태 토픽 (key = driverId, cleanup.policy=compact)
+            @DefaultValue("1s") Duration catchUpIdle           // 이 시간 동안 새 레코드가 없으면 토픽 끝까지 따라잡은 것으로 보고 사용 시작
+    ) {}
+
+    public record LocationClient(
+            @DefaultValue("true") boolean hedgeEnabled,     // 첫 요청이 hedgePercentile 지연 안에 응답하지 않으면 다른 인스턴스로 한 번 더 요청하고 먼저 온 응답 사용
+            @DefaultValue("0.95") double hedgePercentile,   // 헤지 대기 시간으로 쓸 최근 응답 지연 분위수
+            @DefaultValue("20ms") Duration hedgeMinDelay,   // 헤지 대기 시간 하한 (분위수가 너무 작을 때 불필요한 헤지 방지)
+            @DefaultValue("300ms") Duration hedgeMaxDelay,  // 헤지 대기 시간 상한 (측정값이 없을 때도 사용)
+            @DefaultValue("0.1") double hedgeBudgetRatio    // 헤지 요청 수 상한 (전체 요청 대비 비율, 서비스 전체가 느려질 때 부하 증폭 방지)
+    ) {}
+
+    public record OutboxRelay(
+            @DefaultValue("100") int batchSize,    // 한 번에 가져올 Outbox 행 수 (가득 차서 돌아오면 쉬지 않고 다음 배치 조회)
+            @DefaultValue("20ms") Duration minDelay, // 일부만 채워진 배치 이후 대기 시간이자 백오프 시작값
+            @DefaultValue("2s") Duration maxDelay,   // 테이블이 비어 있을 때 지수 백오프 상한
+            @DefaultValue("16") int shardCount,      // Outbox 샤드 수 (Outbox가 비었을 때만 변경)
+            @DefaultValue("2") int workerCount,      // 인스턴스당 릴레이 워커 스레드 수
+            @DefaultValue("10s") Duration leaseTtl   // 샤드 소유권(Redis 리스) 유지 시간
+    ) {}
+
+    public record OutboxWriter(
+            @DefaultValue("true") boolean batchEnabled, // 동시에 들어온 Outbox 행을 모아 한 트랜잭션의 JDBC 배치로 저장 (false면 요청마다 INSERT)
+            @DefaultValue("2ms") Duration linger,       // 첫 행 이후 배치를 채우려고 기다리는 최대 시간 (한가할 때는 응답 지연에 그대로 더해짐)
+            @DefaultValue("100") int maxBatchSize       // 한 번에 저장할 최대 행 수 (hibernate.jdbc.batch_size, ID 할당 크기와 맞춤)
+    ) {}
+
+    public record Journal(
+            @DefaultValue("false") boolean enabled,            // DB Outbox 대신 로컬 저널(WAL)에 기록 후 Kafka로 직접 발행
+            @DefaultValue("journal") Path directory,           // 저널 디렉터리 (재기동 후에도 유지되는 볼륨이어야 함)
+            @DefaultValue("64MB") DataSize segmentSize,        // 세그먼트 파일 크기
+            @DefaultValue("2ms") Duration fsyncInterval,       // 그룹 fsync 주기 (이 주기마다 모인 기록을 한 번에 디스크로 내림)
+            @DefaultValue("500") int publishBatchSize          // 한 번에 Kafka로 보낼 저널 레코드 수
+    ) {}
+
+    public record EventCodec(
+            @DefaultValue("JSON") EventFormat format // Outbox/저널 저장 및 발행 포맷 (BINARY는 모든 소비자가 지원한 뒤 전환)
+    ) {}
+
+    public record Coalescing(
+            @DefaultValue("false") boolean enabled,      // 같은 셀의 요청을 window 동안 모아 셀당 한 번 조회하고 한 번에 배정
+            @DefaultValue("50ms") Duration window,       // 첫 요청부터 배치를 처리하기까지 기다리는 시간 (응답 지연에 그대로 더해짐)
+            @DefaultValue("0.005") double cellSizeDeg,   // 요청을 묶는 셀 크기 (위/경도, 약 500m)
+            @DefaultValue("64") int maxBatchSize         // 이 수만큼 모이면 window 전이라도 바로 처리
+    ) {}
+
+    public record Async(
+            @DefaultValue("false") boolean enabled,      // POST는 202 + matchRequestId로 바로 응답하고 결과는 GET /api/matches/{id}/events로 전달
+            @DefaultValue("256") int concurrency,        // 동시에 진행할 매칭 수
+            @DefaultValue("10000") int queueCapacity,    // 대기열 상한 (가득 차면 접수 단계에서 503)
+            @DefaultValue("2m") Duration resultTtl,      // 접수 후 결과를 보관하는 시간
+            @DefaultValue("100000") long maxResults,     // 보관할 최대 결과 수
+            @DefaultValue("30s") Duration pollTimeout    // 결과 조회 한 번의 최대 대기 시간 (넘으면 PENDING 응답 후 클라이언트가 다시 요청)
+    ) {}
+
+    public record Admission(
+            @DefaultValue("true") boolean enabled,       // 매칭 처리 지연에 따라 동시 실행 한도를 조절하고 초과 요청은 503으로 바로 거절
+            @DefaultValue("100") int initialLimit,       // 시작 한도
+            @DefaultValue("10") int minLimit,            // 한도 하한
+            @DefaultValue("1000") int maxLimit,          // 한도 상한
+            @DefaultValue("2.0") double rttTolerance,    // 단기 평균 지연이 장기 평균의 이 배수 안이면 정상으로 보고 한도를 늘림
+            @DefaultValue("0.2") double smoothing,       // 표본 하나가 한도에 반영되는 비율
+            @DefaultValue("0.9") double backoffRatio,    // 타임아웃/하위 서비스 오류로 실패할 때마다 한도에 곱하는 비율
+            @DefaultValue("1s") Duration retryAfter,     // 거절 응답의 Retry-After
+            @DefaultValue("false") boolean trustHighPriority // 게이트웨이가 클라이언트의 X-Match-Priority를 지우고 직접 설정할 때만 true (false면 HIGH를 NORMAL로 취급)
+    ) {}
+
+    public record Idempotency(
+            @DefaultValue("10m") Duration ttl,            // 매칭 결과 보관 시간 (클라이언트 재시도 기간보다 길게)
+            @DefaultValue("30s") Duration pendingTtl,     // 처리 중(PENDING) 기록 유지 시간. 처리 주체가 죽으면 이 시간 뒤 재시도가 다시 처리 (매칭 최대 소요 시간보다 길게)
+            @DefaultValue("10000") long localMaxSize,     // 인스턴스 로컬에 보관할 최대 키 수 (LRU)
+            @DefaultValue("5s") Duration awaitTimeout     // 다른 인스턴스가 처리 중인 같은 요청의 결과를 기다리는 최대 시간
+    ) {}
+
+    public record Reconciliation(
+            @DefaultValue("1000") int scanPageSize,        // SCAN 한 번에 가져와 한 번의 스크립트로 상태를 확인할 키 수
+            @DefaultValue("500") int tripBatchSize,        // 여정 서비스 일괄 조회 한 번에 보낼 기사 수
+            @DefaultValue("4") int concurrency,            // 동시에 진행할 여정 서비스 일괄 조회 수
+            @DefaultValue("20") int maxRequestsPerSecond,  // 여정 서비스 일괄 조회 초당 상한
+            @DefaultValue("45s") Duration timeout,         // 한 번의 검사 최대 시간 (ShedLock lockAtMostFor보다 짧아야 함)
+            @DefaultValue("10m") Duration busyThreshold,   // 예약된 지 이 시간이 지난 운행 중 기사만 검사 (busy_drivers ZSET 조회)
+            @DefaultValue("1h") Duration fullScanInterval  // 전체 SCAN으로 ZSET 누락/잔여 항목을 보정하는 주기 (인스턴스 기동 직후 1회 포함)
+    ) {}
+
+    public record Execution(
+            @DefaultValue("BOUNDED_ELASTIC") BlockingExecutor blockingExecutor // Outbox 저장 등 블로킹 구간, 릴레이 워커, 스케줄 작업을 실행할 스레드
+    ) {
+        public boolean virtualThreads() {
+            return blockingExecutor == BlockingExecutor.VIRTUAL_THREADS;
+        }
+    }
+
+    public enum BlockingExecutor {
+        BOUNDED_ELASTIC, // Reactor boundedElastic (플랫폼 스레드 풀, 기본 상한 코어 수 x 10, 초과 작업은 큐에서 대기)
+        VIRTUAL_THREADS  // 작업마다 가상 스레드 생성 (상한 없음, 커넥션 풀 크기가 실질적인 동시 실행 상한)
+    }
+
+    public enum SearchStrategy {
+        SEQUENTIAL, // 반경마다 위치 서비스를 순서대로 호출 (앞 반경에서 못 찾았을 때만 다음 반경 호출)
+        WIDEST,     // 가장 넓은 반경으로 한 번만 호출하고 거리 구간별로 로컬에서 나눠 안쪽부터 검사
+        HEDGED      // 모든 반경을 동시에 호출하되 안쪽부터 검사, 안쪽에서 예약되면 바깥 호출은 취소
+    }
+}
@@ -2,6 +2,7 @@ package com.example.matching_service.config;
 
 import io.netty.channel.ChannelOption;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
@@ -11,6 +12,8 @@ import reactor.netty.http.client.HttpClient;
 import java.time.Duration;
 
 @Configuration
+// 위치 서비스는 인스턴스별 최근 지연을 보고 고름 (나머지 서비스는 기본 라운드 로빈)
+@LoadBalancerClient(name = "geospatial-service", configuration = LatencyAwareLoadBalancerConfig.class)
 public class WebClientConfig {
 
     @Bean
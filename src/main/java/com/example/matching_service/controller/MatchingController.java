@@ -2,25 +2,113 @@ package com.example.matching_service.controller;
 
 import com.example.matching_service.dto.MatchRequest;
 import com.example.matching_service.dto.MatchResponse;
+import com.example.matching_service.dto.MatchStatusResponse;
+import com.example.matching_service.exception.MatchRejectedException;
+import com.example.matching_service.exception.NoDriverAvailableException;
+import com.example.matching_service.service.AdaptiveConcurrencyLimiter;
+import com.example.matching_service.service.AsyncMatchDispatcher;
+import com.example.matching_service.service.MatchIdempotencyGuard;
+import com.example.matching_service.service.MatchPriority;
 import com.example.matching_service.service.MatchingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/matches")
 @RequiredArgsConstructor
 public class MatchingController {
 
     private final MatchingService matchingService;
+    private final AsyncMatchDispatcher asyncMatchDispatcher;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final MatchIdempotencyGuard idempotencyGuard;
 
     @PostMapping
     public Mono<ResponseEntity<MatchResponse>> requestMatch(@Valid @RequestBody MatchRequest request,
-                                                            @RequestHeader(value = "X-User-Id") String authenticatedUserId) {
+                                                            @RequestHeader(value = "X-User-Id") String authenticatedUserId,
+                                                            @RequestHeader(value = "X-Match-Priority", required = false) String priority,
+                                                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+
+        boolean async = asyncMatchDispatcher.isEnabled();
+        Mono<MatchResponse> match = async
+                ? submitAsync(authenticatedUserId, request)
+                : runMatch(authenticatedUserId, request, priority);
+        // 같은 키의 재시도는 처음 요청의 결과(비동기 모드는 처음 발급한 matchRequestId)를 그대로 받음
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            match = idempotencyGuard.execute(authenticatedUserId, idempotencyKey, match);
+        }
+
+        return match.map(response -> async ? accepted(response) : ResponseEntity.ok(response))
+                    .onErrorResume(MatchRejectedException.class, e -> Mono.just(tooBusy(e)));
+    }
+
+    private Mono<MatchResponse> submitAsync(String userId, MatchRequest request) {
+        return Mono.fromCallable(() -> asyncMatchDispatcher.submit(userId, request)
+                                                           .map(matchRequestId -> new MatchResponse("매칭 요청이 접수되었습니다.", matchRequestId))
+                                                           .orElseThrow(MatchRejectedException::new));
+    }
+
+    // 비동기 모드는 이 limiter를 거치지 않고 대기열 크기(queueCapacity)와 고정 동시 실행 수(concurrency)로만 부하를 제한
+    private Mono<MatchResponse> runMatch(String userId, MatchRequest request, String priority) {
+        if (!concurrencyLimiter.isEnabled()) return matchingService.requestMatch(userId, request);
+
+        // 성공한 매칭만 지연 표본으로 사용 (기사 없음처럼 빨리 끝난 실패가 평균 지연을 낮춰 한도를 부풀리지 않도록)
+        // 기사 없음 외의 실패(타임아웃, 위치 서비스/Redis 오류 등)는 과부하 신호로 보고 한도를 줄임
+        return Mono.defer(() -> concurrencyLimiter.tryAcquire(MatchPriority.from(priority))
+                                                  .map(permit -> matchingService.requestMatch(userId, request)
+                                                                                .doOnSuccess(response -> permit.release(true))
+                                                                                .doOnError(error -> {
+                                                                                    if (error instanceof NoDriverAvailableException) permit.release(false);
+                                                                                    else permit.drop();
+                                                                                })
+                                                                                .doOnCancel(() -> permit.release(false)))
+                                                  .orElseGet(() -> Mono.error(new MatchRejectedException())));
+    }
+
+    private ResponseEntity<MatchResponse> accepted(MatchResponse response) {
+        return ResponseEntity.accepted()
+                             .location(URI.create("/api/matches/" + response.matchRequestId() + "/events"))
+                             .body(response);
+    }
+
+    // 대기시키지 않고 바로 거절해 클라이언트가 Retry-After 뒤에 다시 시도하게 함
+    private ResponseEntity<MatchResponse> tooBusy(MatchRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(concurrencyLimiter.retryAfterSeconds()))
+                             .body(new MatchResponse(e.getMessage(), null));
+    }
+
+    // 비동기 모드 결과 (SSE): 결과 또는 pollTimeout 경과 시 PENDING 이벤트 하나를 보내고 종료
+    @GetMapping(value = "/{matchRequestId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<MatchStatusResponse>>> streamResult(@PathVariable String matchRequestId,
+                                                                                  @RequestHeader(value = "X-User-Id") String authenticatedUserId) {
+
+        return asyncMatchDispatcher.awaitResult(matchRequestId, authenticatedUserId)
+                                   .map(result -> ResponseEntity.ok(result.map(status -> ServerSentEvent.builder(status)
+                                                                                                        .id(matchRequestId)
+                                                                                                        .event(status.status().name())
+                                                                                                        .build())
+                                                                          .flux()))
+                                   .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 비동기 모드 결과 (long-poll): SSE를 쓸 수 없는 클라이언트용
+    @GetMapping(value = "/{matchRequestId}/events", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<MatchStatusResponse>> pollResult(@PathVariable String matchRequestId,
+                                                                @RequestHeader(value = "X-User-Id") String authenticatedUserId) {
 
-        return matchingService.requestMatch(authenticatedUserId, request)
-                              .map(response -> ResponseEntity.ok(response));
+        return asyncMatchDispatcher.awaitResult(matchRequestId, authenticatedUserId)
+                                   .map(result -> result.map(ResponseEntity::ok))
+                                   .orElseGet(() -> Mono.just(ResponseEntity.notFound().build()));
     }
-}
\ No newline at end of file
+}
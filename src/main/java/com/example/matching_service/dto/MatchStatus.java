@@ -0,0 +1,7 @@
+package com.example.matching_service.dto;
+
+public enum MatchStatus {
+    PENDING, // 아직 매칭 중 (대기 시간 초과 시 응답, 클라이언트는 다시 요청)
+    MATCHED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.example.matching_service.dto;
+
+public record MatchStatusResponse(
+        String matchRequestId,
+        MatchStatus status,
+        String message
+) {}
@@ -0,0 +1,10 @@
+package com.example.matching_service.dto.kafka;
+
+/**
+ * 기사 상태 토픽(compacted, key = driverId)에 발행하는 상태 전이. changedAt은 발행 시각 epoch ms.
+ */
+public record DriverStatusChangedEvent(
+        String driverId,
+        boolean available,
+        long changedAt
+) {}
@@ -3,37 +3,68 @@ package com.example.matching_service.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.nio.charset.StandardCharsets;
+
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "matching_outbox", indexes = @Index(name = "idx_outbox_status_created", columnList = "status, createdAt"))
+@Table(name = "matching_outbox", indexes = {
+        @Index(name = "idx_outbox_status_created", columnList = "status, createdAt"),
+        @Index(name = "idx_outbox_shard_status_created", columnList = "shard, status, createdAt")
+})
 public class MatchingOutbox extends BaseTimeEntity {
 
+    // IDENTITY는 INSERT마다 생성 키를 받아야 해서 JDBC 배치가 꺼지므로, 시퀀스(MySQL은 테이블로 대체)에서 100개씩 미리 할당
+    // 기존 테이블은 배포 전에 db/migration/V1__create_matching_outbox_seq.sql로 시퀀스를 기존 ID보다 크게 맞춰야 함
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "matching_outbox_seq")
+    @SequenceGenerator(name = "matching_outbox_seq", sequenceName = "matching_outbox_seq", allocationSize = 100)
     private Long id;
 
     private String aggregateId;
 
+    @Column(nullable = false)
+    private int shard;          // aggregateId 기반 샤드 번호 (같은 aggregate는 항상 같은 샤드 -> 같은 릴레이 워커)
+
     private String topic;       // 발행할 토픽 이름
 
     @Lob
-    private String payload;     // 이벤트 내용 (JSON)
+    @Column(name = "payload_data")
+    private byte[] payload;     // 인코딩된 이벤트 (matching.event-codec.format에 따라 JSON 또는 바이너리)
+
+    @Lob
+    @Getter(AccessLevel.NONE)
+    @Column(name = "payload", insertable = false, updatable = false)
+    private String legacyPayload; // 코덱 도입 전에 저장된 행의 JSON 본문 (읽기 전용)
 
     @Enumerated(EnumType.STRING)
     private OutboxStatus status; // READY, DONE
 
 
     @Builder
-    public MatchingOutbox(String aggregateId, String topic, String payload) {
+    public MatchingOutbox(String aggregateId, int shard, String topic, byte[] payload) {
         this.aggregateId = aggregateId;
+        this.shard = shard;
         this.topic = topic;
         this.payload = payload;
         this.status = OutboxStatus.READY;
     }
 
+    /**
+     * 발행할 본문. 코덱 도입 전 행은 기존 payload 컬럼의 JSON을 그대로 돌려주고, 둘 다 없으면 null.
+     */
+    public byte[] getPayload() {
+        if (payload != null) return payload;
+        return legacyPayload != null ? legacyPayload.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
     public void changeStatus(OutboxStatus status) {
         this.status = status;
     }
 
+    // 샤드 수를 바꾸면 기존 행과 샤드가 달라지므로 Outbox가 비었을 때만 변경해야 함
+    public static int shardOf(String aggregateId, int shardCount) {
+        return Math.floorMod(aggregateId.hashCode(), shardCount);
+    }
+
 }
@@ -1,5 +1,5 @@
 package com.example.matching_service.entity;
 
 public enum OutboxStatus {
-    READY, PUBLISHING, DONE
+    READY, PUBLISHING, DONE, FAILED // FAILED: 발행할 본문이 없어 재시도해도 소용없는 행
 }
@@ -0,0 +1,16 @@
+package com.example.matching_service.exception;
+
+/**
+ * 동시 실행 한도 초과나 대기열 포화, 같은 Idempotency-Key 요청이 아직 처리 중이라 매칭을 시작하지 않고 거절한 경우.
+ * 컨트롤러에서 503 + Retry-After로 변환한다.
+ */
+public class MatchRejectedException extends RuntimeException {
+
+    public MatchRejectedException() {
+        super("매칭 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    public MatchRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.matching_service.exception;
+
+/**
+ * 가장 넓은 반경까지 검색했지만 배차 가능한 기사가 없는 경우.
+ * 정상적인 매칭 결과의 하나이므로 동시 실행 한도 조절에서는 과부하 신호로 보지 않는다.
+ */
+public class NoDriverAvailableException extends RuntimeException {
+
+    public NoDriverAvailableException() {
+        super("배차 가능한 기사가 없습니다.");
+    }
+}
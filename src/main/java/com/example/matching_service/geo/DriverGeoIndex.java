@@ -0,0 +1,267 @@
+package com.example.matching_service.geo;
+
+import com.example.matching_service.client.LocationServiceClient.NearbyDriver;
+import com.example.matching_service.config.MatchingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 기사 위치 업데이트 스트림으로 유지하는 노드 로컬 그리드 공간 인덱스.
+ * 위치/갱신 시각은 슬롯 번호 기반의 primitive 배열에 저장하고, 셀에는 슬롯 번호만 보관하여 점마다 객체를 만들지 않는다.
+ */
+@Component
+@Slf4j
+public class DriverGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final MatchingProperties.GeoIndex config;
+    private final long maxAgeMillis;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> slotByDriver = new HashMap<>();
+    private final Map<Long, IntBag> cells = new HashMap<>();
+
+    private String[] driverIds = new String[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private long[] updatedAt = new long[INITIAL_CAPACITY];
+    private long[] cellKeys = new long[INITIAL_CAPACITY];
+    private final IntBag freeSlots = new IntBag();
+    private int nextSlot;
+
+    private volatile long firstUpdateMillis;
+    private volatile long lastUpdateMillis;
+
+    public DriverGeoIndex(MatchingProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.geoIndex();
+        this.maxAgeMillis = config.maxLocationAge().toMillis();
+
+        Gauge.builder("matching.geo.index.size", this, DriverGeoIndex::size)
+             .description("로컬 공간 인덱스에 등록된 기사 수")
+             .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    /**
+     * 첫 업데이트 이후 maxLocationAge 이상 지나 운행 중인 기사가 모두 한 번씩 보고했고(워밍업),
+     * 최근 maxLocationAge 내에 위치 업데이트를 받은 경우에만 인덱스 결과를 신뢰한다.
+     * 컨슈머가 토픽 끝에서 시작하므로 재시작 직후의 인덱스는 일부 기사만 담고 있다.
+     */
+    public boolean isReady() {
+        if (!config.enabled() || firstUpdateMillis == 0) return false;
+        long now = System.currentTimeMillis();
+        return now - firstUpdateMillis >= maxAgeMillis && now - lastUpdateMillis <= maxAgeMillis;
+    }
+
+    public void update(String driverId, double longitude, double latitude) {
+        long now = System.currentTimeMillis();
+        long cellKey = cellKeyOf(longitude, latitude);
+
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByDriver.get(driverId);
+            if (slot == null) {
+                slot = allocateSlot();
+                slotByDriver.put(driverId, slot);
+                driverIds[slot] = driverId;
+                cells.computeIfAbsent(cellKey, key -> new IntBag()).add(slot);
+            } else if (cellKeys[slot] != cellKey) {
+                removeFromCell(cellKeys[slot], slot);
+                cells.computeIfAbsent(cellKey, key -> new IntBag()).add(slot);
+            }
+
+            cellKeys[slot] = cellKey;
+            longitudes[slot] = longitude;
+            latitudes[slot] = latitude;
+            updatedAt[slot] = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (firstUpdateMillis == 0) firstUpdateMillis = now;
+        lastUpdateMillis = now;
+    }
+
+    public void remove(String driverId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByDriver.remove(driverId);
+            if (slot != null) releaseSlot(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 반경 내 기사 중 가까운 순서로 최대 k명을 반환 (거리 단위: km)
+     */
+    public List<NearbyDriver> findNearest(double longitude, double latitude, double radiusKm, int k) {
+        if (k <= 0) return List.of();
+
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lonDelta = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+        int minRow = cellIndex(latitude - latDelta);
+        int maxRow = cellIndex(latitude + latDelta);
+        int minCol = cellIndex(longitude - lonDelta);
+        int maxCol = cellIndex(longitude + lonDelta);
+        long staleBefore = System.currentTimeMillis() - maxAgeMillis;
+
+        // 거리 오름차순으로 유지되는 상위 k개 (삽입 정렬)
+        int[] bestSlots = new int[k];
+        double[] bestDistances = new double[k];
+        int size = 0;
+
+        lock.readLock().lock();
+        try {
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    IntBag bag = cells.get(cellKey(row, col));
+                    if (bag == null) continue;
+
+                    for (int i = 0; i < bag.size; i++) {
+                        int slot = bag.values[i];
+                        if (updatedAt[slot] < staleBefore) continue;
+
+                        double distance = distanceKm(latitude, longitude, latitudes[slot], longitudes[slot]);
+                        if (distance > radiusKm) continue;
+                        if (size == k && distance >= bestDistances[k - 1]) continue;
+
+                        int pos = size < k ? size++ : k - 1;
+                        while (pos > 0 && bestDistances[pos - 1] > distance) {
+                            bestDistances[pos] = bestDistances[pos - 1];
+                            bestSlots[pos] = bestSlots[pos - 1];
+                            pos--;
+                        }
+                        bestDistances[pos] = distance;
+                        bestSlots[pos] = slot;
+                    }
+                }
+            }
+
+            List<NearbyDriver> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new NearbyDriver(driverIds[bestSlots[i]], bestDistances[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByDriver.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 위치 업데이트가 끊긴 기사(오프라인 등) 정리
+    @Scheduled(fixedDelay = 30000)
+    public void evictStale() {
+        if (!config.enabled()) return;
+
+        long staleBefore = System.currentTimeMillis() - maxAgeMillis;
+        int evicted = 0;
+
+        lock.writeLock().lock();
+        try {
+            var iterator = slotByDriver.entrySet().iterator();
+            while (iterator.hasNext()) {
+                int slot = iterator.next().getValue();
+                if (updatedAt[slot] < staleBefore) {
+                    iterator.remove();
+                    releaseSlot(slot);
+                    evicted++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (evicted > 0) log.info("🧹 [GeoIndex] 위치 갱신이 끊긴 기사 {}명 제거", evicted);
+    }
+
+    private int allocateSlot() {
+        if (freeSlots.size > 0) return freeSlots.values[--freeSlots.size];
+
+        if (nextSlot == driverIds.length) {
+            int capacity = driverIds.length * 2;
+            driverIds = Arrays.copyOf(driverIds, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+            cellKeys = Arrays.copyOf(cellKeys, capacity);
+        }
+        return nextSlot++;
+    }
+
+    private void releaseSlot(int slot) {
+        removeFromCell(cellKeys[slot], slot);
+        driverIds[slot] = null;
+        freeSlots.add(slot);
+    }
+
+    private void removeFromCell(long cellKey, int slot) {
+        IntBag bag = cells.get(cellKey);
+        if (bag == null) return;
+        bag.remove(slot);
+        if (bag.size == 0) cells.remove(cellKey);
+    }
+
+    private long cellKeyOf(double longitude, double latitude) {
+        return cellKey(cellIndex(latitude), cellIndex(longitude));
+    }
+
+    private int cellIndex(double degree) {
+        return (int) Math.floor(degree / config.cellSizeDeg());
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    // 셀별 슬롯 번호 목록 (boxing 없는 int 가변 배열)
+    private static final class IntBag {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
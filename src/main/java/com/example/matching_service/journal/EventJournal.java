@@ -0,0 +1,405 @@
+package com.example.matching_service.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 매핑된 세그먼트 파일 기반의 append-only 이벤트 저널.
+ *
+ * <pre>
+ * 레코드 = [int length][int crc32(body)][body]
+ * body   = [long sequence][short topicLength][topic][short keyLength][key][int valueLength][value]   (topic/key는 UTF-8)
+ * </pre>
+ * length가 0이면 기록의 끝이다. 크래시로 일부만 기록된 레코드는 CRC 검증에 실패하므로 복구 시 그 지점부터 잘라낸다.
+ * 발행 완료(ack)된 시퀀스는 체크포인트 파일에 저장하고, 전부 ack된 세그먼트는 삭제한다.
+ */
+@Slf4j
+public class EventJournal implements Closeable {
+
+    static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "journal.checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FileChannel checkpointChannel;
+
+    private final List<Segment> segments = new ArrayList<>(); // this로 보호
+    private final List<Segment> dirtySegments = new ArrayList<>();
+    private Segment active;
+    private long writtenSequence;
+    private long ackedSequence;
+    private volatile long flushedSequence;
+
+    private ReadCursor readCursor; // 발행 스레드 전용
+
+    private EventJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * 저널을 열고 크래시 복구를 수행한다. ack되지 않은 레코드는 readFrom(ackedSequence() + 1)로 다시 읽을 수 있다.
+     */
+    public static EventJournal open(Path directory, int segmentSize) {
+        try {
+            Files.createDirectories(directory);
+            EventJournal journal = new EventJournal(directory, segmentSize);
+            journal.recover();
+            return journal;
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 열기 실패: " + directory, e);
+        }
+    }
+
+    /**
+     * 레코드를 기록하고 시퀀스를 반환한다. flush() 전까지는 디스크 기록이 보장되지 않는다.
+     */
+    public synchronized long append(String topic, String key, byte[] value) {
+        byte[] body = encodeBody(writtenSequence + 1, topic, key, value);
+        int recordSize = HEADER_SIZE + body.length;
+        if (recordSize + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("저널 레코드가 세그먼트 크기보다 큽니다: " + recordSize);
+        }
+
+        // 끝 표시(length 0)를 쓸 공간까지 남지 않으면 새 세그먼트로 교체
+        if (active == null || active.writePosition + recordSize + Integer.BYTES > segmentSize) {
+            rollSegment(writtenSequence + 1);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        MappedByteBuffer buffer = active.buffer;
+        buffer.position(active.writePosition);
+        buffer.putInt(body.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(body);
+        buffer.putInt(0); // 끝 표시 (이전 크래시의 잔여 데이터를 읽지 않도록)
+        active.writePosition += recordSize;
+        active.lastSequence = ++writtenSequence;
+
+        if (!dirtySegments.contains(active)) dirtySegments.add(active);
+        return writtenSequence;
+    }
+
+    /**
+     * 지금까지 기록된 레코드를 디스크에 내리고, 내구성이 보장된 마지막 시퀀스를 반환한다.
+     * force()는 락 밖에서 수행하므로 fsync 중에도 append가 막히지 않는다.
+     */
+    public long flush() {
+        long sequence;
+        List<Segment> toForce;
+        synchronized (this) {
+            if (dirtySegments.isEmpty()) return flushedSequence;
+            sequence = writtenSequence;
+            toForce = new ArrayList<>(dirtySegments);
+            dirtySegments.clear();
+        }
+
+        for (Segment segment : toForce) {
+            segment.buffer.force();
+        }
+        flushedSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * flush() 실패 후 호출한다. 디스크 기록이 보장된 마지막 시퀀스 뒤의 레코드를 잘라내
+     * 다음 flush()나 재시작 복구에서 되살아나 발행되는 일이 없게 하고, 잘라낸 레코드 수를 반환한다.
+     * 잘라낸 결과를 디스크에 내리지 못하면 예외를 던지며, 이 경우 저널을 더 이상 사용하면 안 된다.
+     */
+    public synchronized long discardUnflushed() {
+        long durable = flushedSequence;
+        long discarded = writtenSequence - durable;
+        if (discarded <= 0) return 0;
+
+        // 버려진 시퀀스만 담은 세그먼트는 삭제 (발행 커서는 durable + 1을 넘지 않으므로 이 세그먼트를 보지 않음)
+        while (segments.size() > 1 && segments.get(segments.size() - 1).baseSequence > durable + 1) {
+            Segment segment = segments.remove(segments.size() - 1);
+            dirtySegments.remove(segment);
+            segment.delete();
+        }
+        active = segments.get(segments.size() - 1);
+
+        // durable + 1 레코드 자리에 끝 표시를 써서 그 뒤를 잘라냄 (새 레코드는 같은 자리, 같은 시퀀스로 다시 기록됨)
+        int position = 0;
+        while (position + HEADER_SIZE <= segmentSize) {
+            JournalRecord record = decode(active.buffer, position);
+            if (record == null || record.sequence() > durable) break;
+            position += HEADER_SIZE + active.buffer.getInt(position);
+        }
+        active.buffer.putInt(position, 0);
+        active.writePosition = position;
+        active.lastSequence = durable;
+        writtenSequence = durable;
+
+        dirtySegments.remove(active);
+        active.buffer.force();
+        return discarded;
+    }
+
+    /**
+     * fromSequence부터 디스크에 기록된 레코드를 최대 maxRecords개 읽는다. (단일 발행 스레드에서만 호출)
+     */
+    public List<JournalRecord> readFrom(long fromSequence, int maxRecords) {
+        long durable = flushedSequence;
+        List<JournalRecord> records = new ArrayList<>();
+        if (fromSequence > durable) return records;
+
+        if (readCursor == null || readCursor.nextSequence != fromSequence) {
+            readCursor = seek(fromSequence);
+            if (readCursor == null) return records;
+        }
+
+        while (records.size() < maxRecords && readCursor.nextSequence <= durable) {
+            if (readCursor.position + HEADER_SIZE > segmentSize || readCursor.view.getInt(readCursor.position) == 0) {
+                // 현재 세그먼트의 끝 -> 다음 세그먼트로 이동
+                ReadCursor next = seek(readCursor.nextSequence);
+                if (next == null) break;
+                readCursor = next;
+                continue;
+            }
+
+            JournalRecord record = decode(readCursor.view, readCursor.position);
+            if (record == null) break;
+            readCursor.position += HEADER_SIZE + readCursor.view.getInt(readCursor.position);
+            readCursor.nextSequence = record.sequence() + 1;
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * sequence까지 발행이 완료되었음을 기록하고, 전부 발행된 세그먼트 파일을 삭제한다.
+     */
+    public synchronized void acknowledge(long sequence) {
+        if (sequence <= ackedSequence) return;
+        ackedSequence = sequence;
+
+        try {
+            ByteBuffer checkpoint = ByteBuffer.allocate(Long.BYTES).putLong(0, sequence);
+            checkpointChannel.write(checkpoint, 0);
+            checkpointChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 체크포인트 기록 실패", e);
+        }
+        cleanupAckedSegments();
+    }
+
+    public synchronized long ackedSequence() {
+        return ackedSequence;
+    }
+
+    public long flushedSequence() {
+        return flushedSequence;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : dirtySegments) {
+            segment.buffer.force();
+        }
+        dirtySegments.clear();
+        flushedSequence = writtenSequence;
+
+        for (Segment segment : segments) {
+            segment.channel.close();
+        }
+        checkpointChannel.close();
+    }
+
+    private synchronized void recover() throws IOException {
+        if (checkpointChannel.size() >= Long.BYTES) {
+            ByteBuffer checkpoint = ByteBuffer.allocate(Long.BYTES);
+            checkpointChannel.read(checkpoint, 0);
+            ackedSequence = checkpoint.getLong(0);
+        }
+        writtenSequence = ackedSequence;
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                        .sorted()
+                        .toList();
+        }
+
+        for (Path file : files) {
+            Segment segment = Segment.open(file, parseBaseSequence(file), segmentSize);
+            int position = 0;
+            long lastSequence = segment.baseSequence - 1;
+            while (position + HEADER_SIZE <= segmentSize) {
+                JournalRecord record = decode(segment.buffer, position);
+                if (record == null) break;
+                position += HEADER_SIZE + segment.buffer.getInt(position);
+                lastSequence = record.sequence();
+            }
+
+            // 일부만 기록된 꼬리 앞에 끝 표시를 써서 이후 읽기에서 제외
+            if (position + Integer.BYTES <= segmentSize) segment.buffer.putInt(position, 0);
+            segment.writePosition = position;
+            segment.lastSequence = lastSequence;
+            segments.add(segment);
+            writtenSequence = Math.max(writtenSequence, lastSequence);
+        }
+
+        flushedSequence = writtenSequence;
+        active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        cleanupAckedSegments();
+
+        log.info("📒 [Journal] 복구 완료 | 디렉터리: {} | 세그먼트: {} | 마지막 시퀀스: {} | 미발행: {}",
+                directory, segments.size(), writtenSequence, writtenSequence - ackedSequence);
+    }
+
+    private void cleanupAckedSegments() {
+        var iterator = segments.iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment == active || segment.lastSequence > ackedSequence) break;
+            iterator.remove();
+            dirtySegments.remove(segment);
+            segment.delete();
+        }
+    }
+
+    private void rollSegment(long baseSequence) {
+        try {
+            if (active != null) {
+                active.buffer.force();
+                dirtySegments.remove(active);
+            }
+            Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, baseSequence, SEGMENT_SUFFIX));
+            active = Segment.open(file, baseSequence, segmentSize);
+            segments.add(active);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트 생성 실패", e);
+        }
+    }
+
+    private synchronized ReadCursor seek(long sequence) {
+        for (Segment segment : segments) {
+            if (segment.baseSequence > sequence || segment.lastSequence < sequence) continue;
+
+            ByteBuffer view = segment.buffer.duplicate();
+            int position = 0;
+            while (position + HEADER_SIZE <= segmentSize) {
+                JournalRecord record = decode(view, position);
+                if (record == null) return null;
+                if (record.sequence() == sequence) return new ReadCursor(view, position, sequence);
+                position += HEADER_SIZE + view.getInt(position);
+            }
+        }
+        return null;
+    }
+
+    static byte[] encodeBody(long sequence, String topic, String key, byte[] value) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer body = ByteBuffer.allocate(Long.BYTES + Short.BYTES + topicBytes.length
+                + Short.BYTES + keyBytes.length + Integer.BYTES + value.length);
+        body.putLong(sequence);
+        body.putShort((short) topicBytes.length).put(topicBytes);
+        body.putShort((short) keyBytes.length).put(keyBytes);
+        body.putInt(value.length).put(value);
+        return body.array();
+    }
+
+    /**
+     * position의 레코드를 읽는다. 끝 표시이거나 CRC가 맞지 않으면(일부만 기록됨) null.
+     */
+    static JournalRecord decode(ByteBuffer buffer, int position) {
+        if (position + HEADER_SIZE > buffer.capacity()) return null;
+
+        int length = buffer.getInt(position);
+        if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()) return null;
+
+        byte[] body = new byte[length];
+        buffer.get(position + HEADER_SIZE, body);
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) return null;
+
+        ByteBuffer in = ByteBuffer.wrap(body);
+        long sequence = in.getLong();
+        String topic = readString(in, in.getShort() & 0xFFFF);
+        String key = readString(in, in.getShort() & 0xFFFF);
+        byte[] value = new byte[in.getInt()];
+        in.get(value);
+        return new JournalRecord(sequence, topic, key, value);
+    }
+
+    private static String readString(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long parseBaseSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long baseSequence;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private long lastSequence;
+
+        private Segment(Path path, long baseSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.baseSequence = baseSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.lastSequence = baseSequence - 1;
+        }
+
+        static Segment open(Path path, long baseSequence, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(path, baseSequence, channel, buffer);
+        }
+
+        void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("저널 세그먼트 삭제 실패: {}. Error: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private static final class ReadCursor {
+        private final ByteBuffer view;
+        private int position;
+        private long nextSequence;
+
+        private ReadCursor(ByteBuffer view, int position, long nextSequence) {
+            this.view = view;
+            this.position = position;
+            this.nextSequence = nextSequence;
+        }
+    }
+}
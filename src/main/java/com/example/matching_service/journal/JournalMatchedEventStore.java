@@ -0,0 +1,177 @@
+package com.example.matching_service.journal;
+
+import com.example.matching_service.codec.TripMatchedEventCodec;
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.dto.kafka.TripMatchedEvent;
+import com.example.matching_service.kafka.MatchedEventSender;
+import com.example.matching_service.service.MatchedEventStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 로컬 저널 모드: 매칭 이벤트를 DB 대신 로컬 저널에 group commit(fsyncInterval 주기)으로 기록하고,
+ * 별도 스레드가 저널을 순서대로 읽어 Kafka로 발행한다. (at-least-once, 재시작 시 미발행 구간부터 재발행)
+ */
+@Component
+@ConditionalOnProperty(name = "matching.journal.enabled", havingValue = "true")
+@Slf4j
+public class JournalMatchedEventStore implements MatchedEventStore {
+
+    private static final String TOPIC = "matching_events";
+    private static final long MAX_PUBLISH_BACKOFF_MILLIS = 5000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+    private final TripMatchedEventCodec codec;
+    private final MatchedEventSender eventSender;
+    private final MatchingProperties.Journal config;
+
+    private final ArrayDeque<PendingAppend> pending = new ArrayDeque<>(); // this로 보호
+    private volatile boolean running;
+    private volatile boolean broken; // fsync 실패 구간을 잘라내지 못함 -> 기록/flush 중단
+    private EventJournal journal;
+    private Thread flusher;
+    private Thread publisher;
+
+    public JournalMatchedEventStore(TripMatchedEventCodec codec,
+                                    MatchedEventSender eventSender,
+                                    MatchingProperties properties) {
+        this.codec = codec;
+        this.eventSender = eventSender;
+        this.config = properties.journal();
+    }
+
+    @PostConstruct
+    public void start() {
+        journal = EventJournal.open(config.directory(), (int) config.segmentSize().toBytes());
+        running = true;
+
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        publisher = new Thread(this::publishLoop, "journal-publisher");
+        publisher.setDaemon(true);
+        publisher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        publisher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if (!broken) {
+            completePending(journal.flush());
+            journal.close();
+        }
+    }
+
+    /**
+     * 저널에 기록하고, 다음 fsync로 디스크 기록이 보장된 뒤에 완료된다.
+     */
+    @Override
+    public Mono<Void> store(TripMatchedEvent event) {
+        return Mono.defer(() -> {
+            byte[] payload = codec.encode(event);
+            CompletableFuture<Void> durable = new CompletableFuture<>();
+            synchronized (this) {
+                if (broken) return Mono.error(new IllegalStateException("저널 fsync 실패로 기록을 중단했습니다."));
+                long sequence = journal.append(TOPIC, event.tripId(), payload);
+                pending.add(new PendingAppend(sequence, durable));
+            }
+            return Mono.fromFuture(durable);
+        });
+    }
+
+    // fsyncInterval마다 모아서 한 번에 디스크에 내림 (group commit)
+    private void flushLoop() {
+        long intervalNanos = config.fsyncInterval().toNanos();
+        while (running && !broken) {
+            LockSupport.parkNanos(intervalNanos);
+            try {
+                completePending(journal.flush());
+            } catch (Exception e) {
+                log.error("🔥 [Journal] fsync 실패. Error: {}", e.getMessage(), e);
+                failPending(e);
+            }
+        }
+    }
+
+    private void completePending(long flushedSequence) {
+        List<CompletableFuture<Void>> completed = new ArrayList<>();
+        synchronized (this) {
+            while (!pending.isEmpty() && pending.peek().sequence() <= flushedSequence) {
+                completed.add(pending.poll().future());
+            }
+        }
+        completed.forEach(future -> future.complete(null));
+    }
+
+    // 호출자가 실패를 받고 기사 예약을 되돌리므로, 그 전에 실패한 구간을 저널에서 잘라내 나중에 발행되지 않게 함
+    private void failPending(Exception cause) {
+        List<CompletableFuture<Void>> failed = new ArrayList<>();
+        synchronized (this) {
+            try {
+                long discarded = journal.discardUnflushed();
+                log.warn("⚠️ [Journal] fsync 실패 구간 폐기 | 레코드: {}", discarded);
+            } catch (Exception e) {
+                // 잘라낸 결과도 디스크에 못 내림 -> 이후 flush로 되살아나지 않도록 저널 사용을 멈춤
+                broken = true;
+                log.error("🔥 [Journal] fsync 실패 구간 폐기 실패, 저널 기록 중단. Error: {}", e.getMessage(), e);
+            }
+            while (!pending.isEmpty()) failed.add(pending.poll().future());
+        }
+        failed.forEach(future -> future.completeExceptionally(cause));
+    }
+
+    // 저널을 순서대로 읽어 발행하고, 연속으로 성공한 구간까지만 ack
+    private void publishLoop() {
+        long idleNanos = config.fsyncInterval().toNanos();
+        long backoffMillis = 0;
+
+        while (running) {
+            List<JournalRecord> records = journal.readFrom(journal.ackedSequence() + 1, config.publishBatchSize());
+            if (records.isEmpty()) {
+                LockSupport.parkNanos(idleNanos);
+                continue;
+            }
+
+            List<CompletableFuture<?>> futures = new ArrayList<>(records.size());
+            for (JournalRecord record : records) {
+                futures.add(eventSender.send(record.topic(), record.key(), record.value()));
+            }
+
+            long lastPublished = journal.ackedSequence();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).join();
+                    lastPublished = records.get(i).sequence();
+                } catch (Exception e) {
+                    log.error("❌ [Journal] 발행 실패. Sequence: {}, Error: {}", records.get(i).sequence(), e.getMessage());
+                    break;
+                }
+            }
+
+            journal.acknowledge(lastPublished);
+            if (lastPublished == records.get(records.size() - 1).sequence()) {
+                backoffMillis = 0;
+            } else {
+                // 실패 지점부터 다시 발행 (이미 성공한 뒤쪽 레코드는 중복 발행될 수 있음)
+                backoffMillis = Math.min(Math.max(backoffMillis * 2, 100), MAX_PUBLISH_BACKOFF_MILLIS);
+                LockSupport.parkNanos(backoffMillis * 1_000_000);
+            }
+        }
+    }
+
+    private record PendingAppend(long sequence, CompletableFuture<Void> future) {}
+}
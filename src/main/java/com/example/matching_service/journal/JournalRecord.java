@@ -0,0 +1,4 @@
+package com.example.matching_service.journal;
+
+public record JournalRecord(long sequence, String topic, String key, byte[] value) {
+}
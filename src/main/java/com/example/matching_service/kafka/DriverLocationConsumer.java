@@ -0,0 +1,47 @@
+package com.example.matching_service.kafka;
+
+import com.example.matching_service.geo.DriverGeoIndex;
+import com.example.matching_service.kafka.dto.DriverLocationUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 모든 레플리카가 전체 위치 스트림을 받아야 하므로 인스턴스마다 별도 컨슈머 그룹으로 최신 오프셋부터 구독한다.
+ * 그룹 이름은 matching.instance-id(파드 이름)로 고정해 재시작할 때마다 버려진 그룹이 쌓이지 않게 하고,
+ * 재시작 후에도 밀린 위치를 재생하지 않도록 할당받을 때마다 파티션 끝으로 이동한다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "matching.geo-index.enabled", havingValue = "true")
+public class DriverLocationConsumer implements ConsumerSeekAware {
+
+    private final DriverGeoIndex geoIndex;
+
+    // 같은 그룹을 재사용하면 커밋된 오프셋부터 이어 읽게 되므로, 오래된 위치 대신 항상 최신 위치부터 받음
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToEnd(assignments.keySet());
+    }
+
+    @KafkaListener(topics = "${matching.geo-index.topic}",
+                   groupId = "${spring.application.name}-geo-index-${matching.instance-id}",
+                   properties = {
+                           "auto.offset.reset=latest",
+                           "spring.json.value.default.type=com.example.matching_service.kafka.dto.DriverLocationUpdatedEvent"
+                   })
+    public void handleLocationUpdated(DriverLocationUpdatedEvent event) {
+        if (event.driverId() == null || event.longitude() == null || event.latitude() == null) {
+            log.warn("잘못된 위치 업데이트 이벤트입니다: {}", event);
+            return;
+        }
+        geoIndex.update(event.driverId(), event.longitude(), event.latitude());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.matching_service.kafka;
+
+import com.example.matching_service.config.KafkaConsumerConfig;
+import com.example.matching_service.dto.kafka.DriverStatusChangedEvent;
+import com.example.matching_service.status.DriverStatusMirror;
+import com.example.matching_service.status.DriverStatusSnapshotStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 모든 레플리카가 전체 기사 상태를 가져야 하므로 인스턴스마다 별도 컨슈머 그룹으로 구독한다.
+ * 그룹 이름은 matching.instance-id(파드 이름)로 고정해 재시작할 때마다 버려진 그룹이 쌓이지 않게 한다.
+ * 기동 시 스냅샷을 먼저 복원하고 스냅샷 오프셋부터(없으면 토픽 처음부터) 재생하며,
+ * 한동안 새 레코드가 없으면(idle) 토픽 끝까지 따라잡은 것으로 보고 미러를 사용하기 시작한다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "matching.status-mirror.enabled", havingValue = "true")
+public class DriverStatusConsumer implements ConsumerSeekAware {
+
+    static final String LISTENER_ID = "driver-status-mirror";
+
+    private final DriverStatusMirror statusMirror;
+    private final DriverStatusSnapshotStore snapshotStore;
+
+    // 리스너 컨테이너가 시작되기 전에 복원해야 파티션 할당 시 스냅샷 오프셋으로 이동할 수 있음
+    @PostConstruct
+    public void restoreSnapshot() {
+        snapshotStore.restore();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.keySet().forEach(partition -> {
+            long offset = statusMirror.nextOffset(partition.partition());
+            if (offset >= 0) {
+                callback.seek(partition.topic(), partition.partition(), offset);
+            } else {
+                callback.seekToBeginning(List.of(partition));
+            }
+        });
+    }
+
+    @KafkaListener(id = LISTENER_ID,
+                   topics = "${matching.status-mirror.topic}",
+                   groupId = "${spring.application.name}-status-mirror-${matching.instance-id}",
+                   containerFactory = KafkaConsumerConfig.STATUS_MIRROR_LISTENER_FACTORY,
+                   properties = "spring.json.value.default.type=com.example.matching_service.dto.kafka.DriverStatusChangedEvent")
+    public void handleStatusChanged(List<ConsumerRecord<String, DriverStatusChangedEvent>> records) {
+        for (ConsumerRecord<String, DriverStatusChangedEvent> record : records) {
+            DriverStatusChangedEvent event = record.value();
+            if (record.key() == null) {
+                log.warn("키가 없는 기사 상태 레코드입니다: partition={}, offset={}", record.partition(), record.offset());
+                continue;
+            }
+            // 값이 null이어도 역직렬화 실패(ErrorHandlingDeserializer)면 tombstone이 아니므로 기존 상태를 지우지 않음
+            if (record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                log.warn("역직렬화에 실패한 기사 상태 레코드입니다: key={}, partition={}, offset={}", record.key(), record.partition(), record.offset());
+                continue;
+            }
+            statusMirror.apply(record.partition(), record.offset(), record.key(),
+                    event == null ? null : event.available(),
+                    event == null ? record.timestamp() : event.changedAt());
+        }
+    }
+
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        statusMirror.markCaughtUp();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.matching_service.kafka;
+
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.dto.kafka.DriverStatusChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 예약/복구로 바뀐 기사 상태를 compacted 토픽(key = driverId)으로 발행한다.
+ * 로컬 상태 미러용 힌트이므로 응답을 기다리지 않으며, 발행에 실패해도 매칭 흐름은 그대로 진행한다.
+ * (미러가 틀려도 예약 스크립트가 최종 판정하고, 운행 중 표시는 항상 Redis로 다시 확인됨)
+ */
+@Component
+@Slf4j
+public class DriverStatusPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MatchingProperties.StatusMirror config;
+
+    public DriverStatusPublisher(KafkaTemplate<String, Object> kafkaTemplate, MatchingProperties properties) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.config = properties.statusMirror();
+    }
+
+    public void publish(String driverId, boolean available) {
+        if (!config.enabled()) return;
+
+        DriverStatusChangedEvent event = new DriverStatusChangedEvent(driverId, available, System.currentTimeMillis());
+        try {
+            kafkaTemplate.send(config.topic(), driverId, event)
+                         .whenComplete((result, error) -> {
+                             if (error != null) log.warn("기사 상태 발행 실패: {} -> {}. Error: {}", driverId, available, error.getMessage());
+                         });
+        } catch (Exception e) {
+            log.warn("기사 상태 발행 실패: {} -> {}. Error: {}", driverId, available, e.getMessage());
+        }
+    }
+
+    public void publishAll(List<String> driverIds, boolean available) {
+        if (!config.enabled()) return;
+        driverIds.forEach(driverId -> publish(driverId, available));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.matching_service.kafka;
+
+import com.example.matching_service.codec.EventFormat;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 인코딩된 매칭 이벤트를 포맷에 맞는 serializer로 발행한다.
+ * JSON은 기존과 같은 템플릿(JsonSerializer)으로 보내 와이어 포맷을 유지하고,
+ * BINARY는 ByteArraySerializer로 그대로 보내며 content-type 헤더로 포맷을 알린다.
+ */
+@Component
+public class MatchedEventSender {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String BINARY_CONTENT_TYPE = "application/vnd.matching.trip-matched.v1+binary";
+
+    private final KafkaTemplate<String, String> jsonTemplate;
+    private final ProducerFactory<String, byte[]> binaryProducerFactory;
+    private final KafkaTemplate<String, byte[]> binaryTemplate;
+
+    public MatchedEventSender(KafkaTemplate<String, String> kafkaTemplate,
+                              ProducerFactory<String, byte[]> producerFactory,
+                              KafkaProperties kafkaProperties) {
+        this.jsonTemplate = kafkaTemplate;
+        // 별도 KafkaTemplate 빈을 등록하면 자동 구성 템플릿이 빠지므로, 같은 producer 설정에 serializer만 바꿔 내부에서 생성
+        this.binaryProducerFactory = producerFactory.copyWithConfigurationOverride(
+                Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+        this.binaryTemplate = new KafkaTemplate<>(binaryProducerFactory);
+        this.binaryTemplate.setObservationEnabled(kafkaProperties.getTemplate().isObservationEnabled());
+    }
+
+    /**
+     * send() 자체에서 발생한 예외(직렬화 실패, 버퍼 대기 초과 등)도 실패한 future로 돌려준다.
+     */
+    public CompletableFuture<?> send(String topic, String key, byte[] payload) {
+        if (payload == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("발행할 이벤트 본문이 없습니다. Key: " + key));
+        }
+        try {
+            if (EventFormat.detect(payload) == EventFormat.JSON) {
+                return jsonTemplate.send(topic, key, new String(payload, StandardCharsets.UTF_8));
+            }
+
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, key, payload);
+            record.headers().add(CONTENT_TYPE_HEADER, BINARY_CONTENT_TYPE.getBytes(StandardCharsets.UTF_8));
+            return binaryTemplate.send(record);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 내부에서 만든 producer factory는 빈이 아니라 컨테이너가 닫지 않으므로, 종료 시 남은 레코드를 보내고 직접 닫음
+    @PreDestroy
+    public void close() throws Exception {
+        binaryTemplate.flush();
+        if (binaryProducerFactory instanceof DisposableBean disposable) disposable.destroy();
+    }
+}
@@ -1,54 +1,101 @@
 package com.example.matching_service.kafka;
 
+import com.example.matching_service.config.KafkaConsumerConfig;
 import com.example.matching_service.kafka.dto.TripCanceledEvent;
 import com.example.matching_service.kafka.dto.TripCompletedEvent;
 import com.example.matching_service.service.MatchingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.annotation.KafkaHandler;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.log.LogAccessor;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
-@KafkaListener(topics = "trip_events", groupId = "matching-service-group")
 public class MatchingEventConsumer {
 
+    private static final Duration RELEASE_TIMEOUT = Duration.ofSeconds(2);
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(MatchingEventConsumer.class);
+
     private final MatchingService matchingService;
 
-    @KafkaHandler
-    public void handleTripCompleted(TripCompletedEvent event) {
-        log.info("운행 종료 이벤트 수신. 기사({}) 상태를 '대기 중'으로 복구합니다.", event.driverId());
-        try {
-            matchingService.releaseDriver(event.driverId())
-                           .block(Duration.ofSeconds(2));
-            log.info("기사({}) 상태 복구 완료", event.driverId());
+    /**
+     * 운행 종료/취소 이벤트를 poll 단위로 받아 기사 상태를 한 번의 Redis 왕복으로 복구한다.
+     * 일괄 복구가 실패하면 레코드별로 다시 시도해 실패한 레코드만 지목하고, 나머지 재시도/DLT 처리는 DefaultErrorHandler에 맡긴다.
+     * 역직렬화에 실패한 레코드가 있으면 그 앞까지만 복구한 뒤 해당 레코드를 지목해 DLT로 보낸다 (건너뛰면 기사가 운행 중으로 남음).
+     */
+    @KafkaListener(topics = "trip_events", groupId = "matching-service-group",
+                   containerFactory = KafkaConsumerConfig.BATCH_LISTENER_FACTORY)
+    public void handleTripEvents(List<ConsumerRecord<String, Object>> records) {
+        int failedIndex = firstUndeserializable(records);
+        releaseAll(records.subList(0, failedIndex));
+        if (failedIndex == records.size()) return;
+
+        ConsumerRecord<String, Object> failed = records.get(failedIndex);
+        log.error("역직렬화 실패 메시지입니다. DLT로 보냅니다. topic={} / partition={} / offset={}",
+                failed.topic(), failed.partition(), failed.offset());
+        throw new BatchListenerFailedException("역직렬화 실패: offset " + failed.offset(),
+                SerializationUtils.getExceptionFromHeader(failed, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR),
+                failedIndex);
+    }
+
+    private void releaseAll(List<ConsumerRecord<String, Object>> records) {
+        List<String> driverIds = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, Object> record : records) {
+            String driverId = driverIdOf(record);
+            if (driverId != null) driverIds.add(driverId);
+        }
+        if (driverIds.isEmpty()) return;
 
+        try {
+            matchingService.releaseDrivers(driverIds).block(RELEASE_TIMEOUT);
+            log.info("운행 종료/취소 {}건 수신. 기사 {}명 상태 일괄 복구 완료", records.size(), driverIds.size());
         } catch (Exception e) {
-            log.error("기사 상태 복구 중 오류 발생 (재시도 예정): {}", event.driverId(), e);
-            throw new RuntimeException("Redis 복구 실패로 인한 재시도 유도", e);
+            log.warn("기사 상태 일괄 복구 실패. 레코드별로 재시도합니다. Error: {}", e.getMessage());
+            releaseIndividually(records);
         }
     }
 
-    @KafkaHandler
-    public void handleTripCanceled(TripCanceledEvent event) {
-        log.info("여정 취소 이벤트 수신. 기사({}) 상태를 '대기 중'으로 복구합니다.", event.driverId());
-        try {
-            matchingService.releaseDriver(event.driverId())
-                           .block(Duration.ofSeconds(2));
-            log.info("기사({}) 상태 복구 완료", event.driverId());
+    // ErrorHandlingDeserializer는 역직렬화 실패 시 값을 null로 두고 예외를 헤더에 담아 전달
+    private int firstUndeserializable(List<ConsumerRecord<String, Object>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, Object> record = records.get(i);
+            if (record.value() == null
+                    || record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                return i;
+            }
+        }
+        return records.size();
+    }
 
-        } catch (Exception e) {
-            log.error("기사 상태 복구 중 오류 발생 (재시도 예정): {}", event.driverId(), e);
-            throw new RuntimeException("Redis 복구 실패로 인한 재시도 유도", e);
+    // 상태 복구는 멱등이므로 앞서 일부가 반영됐더라도 다시 실행해도 됨
+    private void releaseIndividually(List<ConsumerRecord<String, Object>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            String driverId = driverIdOf(records.get(i));
+            if (driverId == null) continue;
+            try {
+                matchingService.releaseDriver(driverId).block(RELEASE_TIMEOUT);
+            } catch (Exception e) {
+                log.error("기사 상태 복구 중 오류 발생 (재시도 예정): {}", driverId, e);
+                throw new BatchListenerFailedException("Redis 복구 실패로 인한 재시도 유도: " + driverId, e, i);
+            }
         }
     }
 
-    @KafkaHandler(isDefault = true)
-    public void handleUnknown(Object event) {
-        log.warn("알 수 없는 메시지입니다.");
+    private String driverIdOf(ConsumerRecord<String, Object> record) {
+        if (record.value() instanceof TripCompletedEvent event) return event.driverId();
+        if (record.value() instanceof TripCanceledEvent event) return event.driverId();
+
+        // 같은 토픽의 관심 없는 이벤트 (역직렬화 실패는 앞에서 걸러짐)
+        log.warn("알 수 없는 메시지입니다. topic={} / partition={} / offset={}", record.topic(), record.partition(), record.offset());
+        return null;
     }
-}
\ No newline at end of file
+}
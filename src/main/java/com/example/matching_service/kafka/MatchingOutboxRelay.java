@@ -1,32 +1,184 @@
 package com.example.matching_service.kafka;
 
+import com.example.matching_service.config.MatchingProperties;
 import com.example.matching_service.entity.MatchingOutbox;
 import com.example.matching_service.entity.OutboxStatus;
 import com.example.matching_service.repository.MatchingOutboxRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class MatchingOutboxRelay {
 
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
     private final MatchingOutboxRepository outboxRepository;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final MatchedEventSender eventSender;
     private final TransactionTemplate transactionTemplate;
+    private final MatchingProperties properties;
+    private final OutboxShardLeaseManager shardLeaseManager;
+    private final OutboxRelayMetrics metrics;
+
+    // synchronized/wait()는 JDK 21에서 가상 스레드를 캐리어 스레드에 고정하므로 ReentrantLock/Condition으로 대기
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private final Condition pollCondition = pollLock.newCondition();
+    private boolean wakeRequested; // pollLock으로 보호
+    private volatile boolean running;
+    private final List<Thread> workers = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        // 가상 스레드는 항상 데몬
+        Thread.Builder builder = properties.execution().virtualThreads()
+                ? Thread.ofVirtual().name("outbox-relay-worker-", 0)
+                : Thread.ofPlatform().daemon().name("outbox-relay-worker-", 0);
+        for (int worker = 0; worker < properties.outboxRelay().workerCount(); worker++) {
+            int workerIndex = worker;
+            workers.add(builder.start(() -> pollLoop(workerIndex)));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        wakeUp();
+        for (Thread worker : workers) {
+            worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+        }
+    }
+
+    @EventListener
+    public void onOutboxSaved(OutboxSavedEvent event) {
+        wakeUp();
+    }
+
+    public void wakeUp() {
+        pollLock.lock();
+        try {
+            wakeRequested = true;
+            pollCondition.signalAll();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    // 샤드를 한 바퀴 돌며 리스를 잡은 샤드를 비우고, 한 건도 없으면 대기 시간을 지수적으로 늘림
+    private void pollLoop(int worker) {
+        MatchingProperties.OutboxRelay config = properties.outboxRelay();
+        long minDelayMillis = config.minDelay().toMillis();
+        long maxDelayMillis = config.maxDelay().toMillis();
+        long idleDelayMillis = minDelayMillis;
+        // 워커마다 시작 샤드를 다르게 해 같은 샤드 리스 경쟁을 줄임
+        int startShard = Math.floorMod(worker * config.shardCount() / Math.max(config.workerCount(), 1), config.shardCount());
+
+        while (running) {
+            int fetched = 0;
+            try {
+                for (int i = 0; i < config.shardCount() && running; i++) {
+                    fetched += drainShard((startShard + i) % config.shardCount(), worker);
+                }
+            } catch (Exception e) {
+                log.error("❌ [Matching-Outbox] 폴링 중 오류 발생 (worker-{})", worker, e);
+            }
+            startShard = (startShard + 1) % config.shardCount();
+
+            long delayMillis;
+            if (fetched > 0) {
+                idleDelayMillis = minDelayMillis;
+                delayMillis = minDelayMillis;
+            } else {
+                delayMillis = idleDelayMillis;
+                idleDelayMillis = Math.min(idleDelayMillis * 2, maxDelayMillis);
+            }
+
+            if (awaitNextPoll(delayMillis)) {
+                idleDelayMillis = minDelayMillis; // 새 이벤트 저장으로 깨어나면 백오프 초기화
+            }
+        }
+    }
 
-    @Scheduled(fixedDelay = 500)
-    public void publishEvents() {
+    // 샤드 리스를 잡은 동안 배치가 가득 차서 돌아오면 연속으로 비움 (리스 만료 전에 양보)
+    private int drainShard(int shard, int worker) {
+        long acquiredAt = System.currentTimeMillis();
+        if (!shardLeaseManager.tryAcquire(shard, worker)) return 0;
+
+        MatchingProperties.OutboxRelay config = properties.outboxRelay();
+        long leaseTtlMillis = config.leaseTtl().toMillis();
+        long drainDeadline = acquiredAt + leaseTtlMillis / 2;
+        long leaseDeadline = acquiredAt + leaseTtlMillis;
+        int total = 0;
+        try {
+            int fetched;
+            do {
+                fetched = publishEvents(shard, leaseDeadline);
+                total += fetched;
+            } while (running && fetched >= config.batchSize() && System.currentTimeMillis() < drainDeadline);
+        } finally {
+            shardLeaseManager.release(shard, worker);
+        }
+        return total;
+    }
+
+    private boolean awaitNextPoll(long delayMillis) {
+        pollLock.lock();
+        try {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            while (!wakeRequested && running && remainingNanos > 0) {
+                remainingNanos = pollCondition.awaitNanos(remainingNanos);
+            }
+            boolean woken = wakeRequested;
+            wakeRequested = false;
+            return woken;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return false;
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * 샤드의 한 배치를 가져와 발행하고, 가져온 행 수를 반환한다.
+     */
+    public int publishEvents(int shard) {
+        return publishEvents(shard, System.currentTimeMillis() + properties.outboxRelay().leaseTtl().toMillis());
+    }
+
+    /**
+     * leaseDeadline(샤드 리스 만료 시각) 전에 전송 결과를 기다리지 못한 이벤트는 배치에서 포기하고 READY로 되돌린다.
+     * 리스가 만료된 뒤에도 기다리면 다른 워커가 같은 샤드를 잡아 aggregate 순서 보장이 깨지기 때문이다.
+     * (포기한 전송이 뒤늦게 성공하면 중복 발행될 수 있음 - at-least-once)
+     */
+    int publishEvents(int shard, long leaseDeadline) {
+        int batchSize = properties.outboxRelay().batchSize();
         List<MatchingOutbox> eventsToPublish = transactionTemplate.execute(status -> {
-            List<MatchingOutbox> events = outboxRepository.findEventsForPublishing(100);
+            List<MatchingOutbox> events = outboxRepository.findEventsForPublishing(shard, batchSize);
             if (events.isEmpty()) return null;
 
             List<Long> ids = events.stream().map(MatchingOutbox::getId).toList();
@@ -34,35 +186,77 @@ public class MatchingOutboxRelay {
             return events;
         });
 
-        if (eventsToPublish == null || eventsToPublish.isEmpty()) return;
+        if (eventsToPublish == null || eventsToPublish.isEmpty()) return 0;
+
+        long publishStartNanos = System.nanoTime();
+        // 배치 전체를 비동기로 전송해 producer의 linger.ms/batch.size/압축이 적용되도록 함
+        Map<MatchingOutbox, CompletableFuture<?>> inFlight = new LinkedHashMap<>();
+        List<Long> retryIds = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        Set<String> aggregatesInBatch = new HashSet<>();
 
         for (MatchingOutbox event : eventsToPublish) {
-            sendToKafka(event);
+            // 본문이 없는 행은 재시도해도 발행할 수 없으므로 FAILED로 빼서 운영자가 확인하도록 함
+            if (event.getPayload() == null) {
+                log.error("❌ [Matching-Outbox] 본문 없는 이벤트, FAILED 처리 | ID: {} | Topic: {}", event.getId(), event.getTopic());
+                failedIds.add(event.getId());
+                continue;
+            }
+            // 같은 aggregate의 후속 이벤트는 앞 이벤트의 결과가 확정된 뒤 다음 배치에서 발행 (aggregate별 순서 보장)
+            if (!aggregatesInBatch.add(event.getAggregateId())) {
+                retryIds.add(event.getId());
+                continue;
+            }
+            inFlight.put(event, eventSender.send(event.getTopic(), event.getAggregateId(), event.getPayload()));
         }
-    }
-
-    private void sendToKafka(MatchingOutbox event) {
-        try {
-            kafkaTemplate.send(event.getTopic(), event.getAggregateId(), event.getPayload()).get();
 
-            log.info("✅ [Matching-Outbox] 발행 성공 | ID: {} | Topic: {} | Key: {}",
-                    event.getId(), event.getTopic(), event.getAggregateId());
-            updateStatus(event.getId(), OutboxStatus.DONE);
-
-        } catch (Exception e) {
-            log.error("❌ [Matching-Outbox] 발행 실패 | ID: {} | Topic: {} | Error: {}",
-                    event.getId(), event.getTopic(), e.getMessage(), e);
-            updateStatus(event.getId(), OutboxStatus.READY);
+        // 상태 갱신과 리스 반환에 쓸 여유를 남기고 기다림
+        long waitDeadline = leaseDeadline - properties.outboxRelay().leaseTtl().toMillis() / 10;
+        List<Long> doneIds = new ArrayList<>(inFlight.size());
+        int abandoned = 0;
+        for (Map.Entry<MatchingOutbox, CompletableFuture<?>> entry : inFlight.entrySet()) {
+            MatchingOutbox event = entry.getKey();
+            try {
+                entry.getValue().get(Math.max(waitDeadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+                doneIds.add(event.getId());
+            } catch (TimeoutException e) {
+                abandoned++;
+                retryIds.add(event.getId());
+            } catch (ExecutionException | CancellationException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("❌ [Matching-Outbox] 발행 실패 | ID: {} | Topic: {} | Error: {}",
+                        event.getId(), event.getTopic(), cause.getMessage(), cause);
+                retryIds.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                retryIds.add(event.getId());
+            }
+        }
+        if (abandoned > 0) {
+            log.warn("⏱️ [Matching-Outbox] 샤드 리스 만료 전 전송 확인 실패, 배치 포기 | Shard: {} | 건수: {}", shard, abandoned);
         }
+
+        updateStatuses(doneIds, retryIds, failedIds);
+        metrics.recordBatch(eventsToPublish.size(), publishStartNanos, doneIds.size(), retryIds.size());
+        log.info("✅ [Matching-Outbox] 배치 발행 완료 | 성공: {} | 재시도 대기: {}", doneIds.size(), retryIds.size());
+        return eventsToPublish.size();
     }
 
-    public void updateStatus(Long eventId, OutboxStatus status) {
+    private void updateStatuses(List<Long> doneIds, List<Long> retryIds, List<Long> failedIds) {
         transactionTemplate.execute(tx -> {
-            outboxRepository.updateStatus(List.of(eventId), status);
+            if (!doneIds.isEmpty()) outboxRepository.updateStatus(doneIds, OutboxStatus.DONE);
+            if (!retryIds.isEmpty()) outboxRepository.updateStatus(retryIds, OutboxStatus.READY);
+            if (!failedIds.isEmpty()) outboxRepository.updateStatus(failedIds, OutboxStatus.FAILED);
             return null;
         });
     }
 
+    // 모든 인스턴스가 같은 값을 보고하므로 락 없이 각자 샘플링
+    @Scheduled(fixedRate = 15000)
+    public void sampleBacklog() {
+        metrics.updateBacklog(outboxRepository.countByStatus(OutboxStatus.READY));
+    }
+
     @Scheduled(fixedRate = 60000)
     @SchedulerLock(name = "Matching_rescueStuckEvents", lockAtLeastFor = "PT30S", lockAtMostFor = "PT50S")
     public void rescueStuckEvents() {
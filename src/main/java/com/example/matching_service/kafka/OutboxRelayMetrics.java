@@ -0,0 +1,54 @@
+package com.example.matching_service.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox 릴레이 지표. 백로그는 스크레이프마다 DB를 조회하지 않도록 주기적으로 샘플링한 값을 노출한다.
+ */
+@Component
+public class OutboxRelayMetrics {
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer publishTimer;
+    private final DistributionSummary batchRows;
+    private final Counter publishedCounter;
+    private final Counter retriedCounter;
+
+    public OutboxRelayMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("matching.outbox.backlog", backlog, AtomicLong::get)
+             .description("발행 대기(READY) 중인 Outbox 이벤트 수")
+             .register(meterRegistry);
+        this.publishTimer = Timer.builder("matching.outbox.publish.latency")
+                                 .description("배치 전송 시작부터 전체 브로커 응답까지 걸린 시간")
+                                 .publishPercentileHistogram()
+                                 .register(meterRegistry);
+        this.batchRows = DistributionSummary.builder("matching.outbox.batch.rows")
+                                            .description("폴링 한 번에 가져온 Outbox 행 수")
+                                            .register(meterRegistry);
+        this.publishedCounter = Counter.builder("matching.outbox.events")
+                                       .tag("result", "published")
+                                       .register(meterRegistry);
+        this.retriedCounter = Counter.builder("matching.outbox.events")
+                                     .tag("result", "retry")
+                                     .register(meterRegistry);
+    }
+
+    public void updateBacklog(long readyCount) {
+        backlog.set(readyCount);
+    }
+
+    public void recordBatch(int rows, long publishStartNanos, int published, int retried) {
+        batchRows.record(rows);
+        publishTimer.record(System.nanoTime() - publishStartNanos, TimeUnit.NANOSECONDS);
+        publishedCounter.increment(published);
+        retriedCounter.increment(retried);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.matching_service.kafka;
+
+/**
+ * Outbox 행이 커밋되었음을 같은 노드의 릴레이에 알려 백오프 대기 중인 폴러를 즉시 깨운다.
+ */
+public record OutboxSavedEvent(Long outboxId) {}
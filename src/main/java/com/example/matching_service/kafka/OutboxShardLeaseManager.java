@@ -0,0 +1,48 @@
+package com.example.matching_service.kafka;
+
+import com.example.matching_service.config.MatchingProperties;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox 샤드 소유권을 Redis 리스로 관리한다.
+ * 한 샤드는 동시에 하나의 릴레이 워커만 처리하므로 같은 aggregate의 이벤트 순서가 레플리카 간에도 보장된다.
+ */
+@Component
+public class OutboxShardLeaseManager {
+
+    // 내 리스일 때만 삭제 (만료 후 다른 워커가 잡은 리스를 지우지 않도록)
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MatchingProperties.OutboxRelay config;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public OutboxShardLeaseManager(StringRedisTemplate redisTemplate, MatchingProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.config = properties.outboxRelay();
+    }
+
+    public boolean tryAcquire(int shard, int worker) {
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(leaseKey(shard), owner(worker), config.leaseTtl());
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    public void release(int shard, int worker) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(shard)), owner(worker));
+    }
+
+    private String leaseKey(int shard) {
+        return "outbox_shard_lease:" + shard;
+    }
+
+    private String owner(int worker) {
+        return instanceId + ":" + worker;
+    }
+}
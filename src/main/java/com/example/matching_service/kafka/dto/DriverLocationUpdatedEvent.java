@@ -0,0 +1,7 @@
+package com.example.matching_service.kafka.dto;
+
+public record DriverLocationUpdatedEvent(
+        String driverId,
+        Double longitude,
+        Double latitude
+) {}
@@ -14,12 +14,14 @@ public interface MatchingOutboxRepository extends JpaRepository<MatchingOutbox,
 
     @Query(value = """
             SELECT * FROM matching_outbox 
-            WHERE status = 'READY' 
+            WHERE shard = :shard AND status = 'READY' 
             ORDER BY created_at ASC 
             LIMIT :limit 
             FOR UPDATE SKIP LOCKED
             """, nativeQuery = true)
-    List<MatchingOutbox> findEventsForPublishing(@Param("limit") int limit);
+    List<MatchingOutbox> findEventsForPublishing(@Param("shard") int shard, @Param("limit") int limit);
+
+    long countByStatus(OutboxStatus status);
 
     @Modifying(clearAutomatically = true)
     @Query("UPDATE MatchingOutbox m SET m.status = :status WHERE m.id IN :ids")
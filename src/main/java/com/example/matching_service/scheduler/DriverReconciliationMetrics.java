@@ -0,0 +1,57 @@
+package com.example.matching_service.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기사 상태 정합성 검사(Zombie Cleaner) 진행/소요 시간 지표.
+ */
+@Component
+public class DriverReconciliationMetrics {
+
+    private final Counter scannedCounter;
+    private final Counter busyCounter;
+    private final Counter zombieCounter;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+    public DriverReconciliationMetrics(MeterRegistry meterRegistry) {
+        this.scannedCounter = Counter.builder("matching.reconciliation.drivers")
+                                     .description("정합성 검사에서 확인한 기사 수 (stage별)")
+                                     .tag("stage", "scanned")
+                                     .register(meterRegistry);
+        this.busyCounter = Counter.builder("matching.reconciliation.drivers")
+                                  .tag("stage", "busy")
+                                  .register(meterRegistry);
+        this.zombieCounter = Counter.builder("matching.reconciliation.drivers")
+                                    .tag("stage", "released")
+                                    .register(meterRegistry);
+        this.successTimer = Timer.builder("matching.reconciliation.duration")
+                                 .description("정합성 검사 1회 소요 시간")
+                                 .tag("result", "success")
+                                 .register(meterRegistry);
+        this.failureTimer = Timer.builder("matching.reconciliation.duration")
+                                 .tag("result", "failure")
+                                 .register(meterRegistry);
+    }
+
+    public void recordScanned(int count) {
+        scannedCounter.increment(count);
+    }
+
+    public void recordBusy(int count) {
+        busyCounter.increment(count);
+    }
+
+    public void recordReleased(int count) {
+        zombieCounter.increment(count);
+    }
+
+    public void recordRun(boolean success, long startNanos) {
+        (success ? successTimer : failureTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,58 +1,139 @@
 package com.example.matching_service.scheduler;
 
 import com.example.matching_service.client.TripServiceClient;
+import com.example.matching_service.config.MatchingProperties;
 import com.example.matching_service.service.MatchingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class DriverStatusScheduler {
 
+    private static final String STATUS_KEY_PREFIX = "driver_status:";
+
+    // 한 페이지의 운행 중 여부를 한 번의 왕복으로 조회
+    private static final RedisScript<String> FIND_BUSY_DRIVERS_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/find_busy_drivers.lua"), String.class);
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
     private final MatchingService matchingService;
     private final TripServiceClient tripServiceClient;
+    private final MatchingProperties properties;
+    private final DriverReconciliationMetrics metrics;
 
-    // 1분마다 실행
+    private volatile long lastFullScanNanos;
+    private volatile boolean fullScanDone;
+
+    // 이전 실행이 끝난 뒤 1분 후 실행. 검사가 끝날 때까지 블로킹해 ShedLock 구간이 실제 작업을 덮도록 함
     @Scheduled(fixedDelay = 60000)
     @SchedulerLock(name = "DriverStatusScheduler_syncDriverStatus", lockAtLeastFor = "PT30S", lockAtMostFor = "PT50S")
     public void syncDriverStatus() {
         log.info("🧹 [Scheduler] 기사 상태 정합성 검사 시작 (Zombie Cleaner)...");
+        MatchingProperties.Reconciliation config = properties.reconciliation();
+        long startNanos = System.nanoTime();
+        AtomicLong scanned = new AtomicLong();
+        AtomicLong busy = new AtomicLong();
+        AtomicLong released = new AtomicLong();
+        // 평소에는 오래된 운행 중 기사만 보고, 주기적으로 전체를 훑어 ZSET을 상태 해시와 맞춤
+        boolean fullScan = !fullScanDone || startNanos - lastFullScanNanos >= config.fullScanInterval().toNanos();
+        // busyThreshold보다 오래 운행 중인 기사만 검사 (막 배차된 기사를 여정 생성 전에 복구하지 않도록)
+        long cutoff = Instant.now().minus(config.busyThreshold()).getEpochSecond();
+
+        try {
+            statusKeys(fullScan, cutoff, config)
+                    .buffer(config.scanPageSize())
+                    .doOnNext(page -> {
+                        scanned.addAndGet(page.size());
+                        metrics.recordScanned(page.size());
+                    })
+                    .concatMap(page -> findBusyDrivers(page, cutoff))
+                    .doOnNext(driverId -> busy.incrementAndGet())
+                    .buffer(config.tripBatchSize())
+                    .doOnNext(batch -> metrics.recordBusy(batch.size()))
+                    // 일괄 조회 요청 간격을 벌려 여정 서비스 초당 호출 수를 제한
+                    .delayElements(Duration.ofMillis(Math.max(1, 1000 / config.maxRequestsPerSecond())))
+                    .flatMap(this::releaseZombieDrivers, config.concurrency())
+                    .doOnNext(count -> {
+                        released.addAndGet(count);
+                        metrics.recordReleased(count);
+                    })
+                    .then()
+                    .block(config.timeout());
 
-        redisTemplate.scan(ScanOptions.scanOptions().match("driver_status:*").count(1000).build())
-                     .flatMap(key ->
-                             redisTemplate.opsForHash().get(key, "isAvailable")
-                                          .filter(status -> "0".equals(status)) // '0'(운행중)인 녀석들만 검사 대상
-                                          .flatMap(status -> {
-                                              String driverId = key.replace("driver_status:", "");
-                                              return checkAndFixZombieDriver(driverId);
-                                          })
-                     )
-                     .subscribe(
-                             null,
-                             error -> log.error("❌ [Scheduler] 스케줄러 실행 중 에러 발생", error),
-                             () -> log.info("✅ [Scheduler] 기사 상태 정합성 검사 완료")
-                     );
+            if (fullScan) {
+                lastFullScanNanos = startNanos;
+                fullScanDone = true;
+            }
+            metrics.recordRun(true, startNanos);
+            log.info("✅ [Scheduler] 기사 상태 정합성 검사 완료 ({}). 확인 {}명 / 운행 중 {}명 / 복구 {}명 / {}ms",
+                    fullScan ? "전체 SCAN" : "운행 중 인덱스", scanned.get(), busy.get(), released.get(),
+                    Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        } catch (Exception e) {
+            metrics.recordRun(false, startNanos);
+            log.error("❌ [Scheduler] 스케줄러 실행 중 에러 발생. 확인 {}명 / 운행 중 {}명 / 복구 {}명까지 진행",
+                    scanned.get(), busy.get(), released.get(), e);
+        }
     }
 
-    private Mono<Void> checkAndFixZombieDriver(String driverId) {
-        return tripServiceClient.isDriverOnTrip(driverId)
-                                .flatMap(isActuallyOnTrip -> {
-                                    // 운행 중 아니면
-                                    if (!isActuallyOnTrip) {
-                                        log.warn("🧟 [Zombie Detected] 기사({})는 Redis상 운행 중이나, 실제로는 운행 종료 상태입니다. 강제 복구합니다.", driverId);
-                                        // Redis 상태를 '1'(대기 중)로 강제 변경
-                                        return matchingService.releaseDriver(driverId).then();
-                                    }
-                                    // 운행 중이면
-                                    return Mono.empty();
+    private Flux<String> statusKeys(boolean fullScan, long cutoff, MatchingProperties.Reconciliation config) {
+        if (fullScan) {
+            return redisTemplate.scan(ScanOptions.scanOptions().match(STATUS_KEY_PREFIX + "*").count(config.scanPageSize()).build());
+        }
+        return redisTemplate.opsForZSet()
+                            .rangeByScore(MatchingService.BUSY_DRIVERS_KEY, Range.closed(0.0, (double) cutoff))
+                            .map(driverId -> STATUS_KEY_PREFIX + driverId);
+    }
+
+    // 상태가 '0'이고 cutoff 이전부터 운행 중인 기사만 남기고, 같은 왕복에서 busy_drivers ZSET의 누락/잔여 항목도 정리
+    private Flux<String> findBusyDrivers(List<String> statusKeys, long cutoff) {
+        List<String> driverIds = statusKeys.stream().map(key -> key.substring(STATUS_KEY_PREFIX.length())).toList();
+        List<String> keys = new ArrayList<>(statusKeys.size() + 1);
+        keys.add(MatchingService.BUSY_DRIVERS_KEY);
+        keys.addAll(statusKeys);
+        List<String> args = new ArrayList<>(driverIds.size() + 1);
+        args.add(String.valueOf(cutoff));
+        args.addAll(driverIds);
+
+        return redisTemplate.execute(FIND_BUSY_DRIVERS_SCRIPT, keys, args)
+                            .next()
+                            .flatMapMany(flags -> Flux.fromStream(
+                                    IntStream.range(0, driverIds.size())
+                                             .filter(i -> i < flags.length() && flags.charAt(i) == '1')
+                                             .mapToObj(driverIds::get)));
+    }
+
+    // Redis상 운행 중이지만 여정 서비스가 운행 중으로 보지 않는 기사를 한 번에 복구
+    private Mono<Integer> releaseZombieDrivers(List<String> busyDriverIds) {
+        return tripServiceClient.findDriversOnTrip(busyDriverIds)
+                                .flatMap(onTrip -> {
+                                    List<String> zombies = busyDriverIds.stream()
+                                                                        .filter(driverId -> !onTrip.contains(driverId))
+                                                                        .toList();
+                                    if (zombies.isEmpty()) return Mono.just(0);
+
+                                    log.warn("🧟 [Zombie Detected] 기사 {}명은 Redis상 운행 중이나, 실제로는 운행 종료 상태입니다. 강제 복구합니다.",
+                                            zombies.size());
+                                    log.debug("복구 대상 기사: {}", zombies);
+                                    return matchingService.releaseDrivers(zombies).thenReturn(zombies.size());
                                 });
     }
-}
\ No newline at end of file
+}
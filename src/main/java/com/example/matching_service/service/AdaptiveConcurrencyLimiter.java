@@ -0,0 +1,134 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.config.MatchingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 매칭 처리 지연을 보고 동시 실행 한도를 조절하는 limiter (Gradient2 방식).
+ * 단기 평균 지연이 장기 평균보다 rttTolerance배 넘게 늘면 한도를 줄이고, 그렇지 않으면 sqrt(limit)만큼 늘린다.
+ * 타임아웃/하위 서비스 오류는 지연 표본이 남지 않으므로 실패할 때마다 한도에 backoffRatio를 곱해 줄인다 (drop 신호).
+ * 한도를 넘는 요청은 큐에 쌓지 않고 바로 거절해, 몰린 요청이 함께 타임아웃되지 않게 한다.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_RTT_ALPHA = 2.0 / (10 + 1);  // 최근 10개 표본 EWMA
+    private static final double LONG_RTT_ALPHA = 2.0 / (600 + 1);  // 최근 600개 표본 EWMA
+
+    private final MatchingProperties.Admission config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<MatchPriority, Counter> rejectedCounters = new EnumMap<>(MatchPriority.class);
+
+    // 아래 필드는 this로 보호 (표본 갱신만 동기화하고 획득/반납은 limit을 volatile로 읽음)
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(MatchingProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.admission();
+        this.limit = config.initialLimit();
+
+        Gauge.builder("matching.admission.limit", this, limiter -> limiter.limit)
+             .description("현재 매칭 동시 실행 한도")
+             .register(meterRegistry);
+        Gauge.builder("matching.admission.inflight", inFlight, AtomicInteger::get)
+             .description("진행 중인 매칭 수")
+             .register(meterRegistry);
+        for (MatchPriority priority : MatchPriority.values()) {
+            rejectedCounters.put(priority, Counter.builder("matching.admission.rejected")
+                                                  .description("동시 실행 한도 초과로 거절한 매칭 요청 수")
+                                                  .tag("priority", priority.name())
+                                                  .register(meterRegistry));
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1, config.retryAfter().toSeconds());
+    }
+
+    /**
+     * 우선순위 몫 안에서 자리가 있으면 Permit을 준다. 없으면 empty (거절).
+     * HIGH는 클라이언트가 임의로 붙일 수 없도록 게이트웨이가 설정한다고 믿을 때(trustHighPriority)만 인정한다.
+     */
+    public Optional<Permit> tryAcquire(MatchPriority priority) {
+        if (priority == MatchPriority.HIGH && !config.trustHighPriority()) priority = MatchPriority.NORMAL;
+        double allowed = limit * priority.limitShare();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejectedCounters.get(priority).increment();
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) return Optional.of(new Permit(System.nanoTime()));
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtSample) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += SHORT_RTT_ALPHA * (rttNanos - shortRttNanos);
+            longRttNanos += LONG_RTT_ALPHA * (rttNanos - longRttNanos);
+        }
+        // 지연이 크게 줄어든 상태가 이어지면 장기 평균도 빨리 따라 내려오게 함
+        if (longRttNanos / shortRttNanos > 2) longRttNanos *= 0.95;
+        // 한도의 절반도 쓰지 않을 때는 지연이 한도 때문이 아니므로 늘리지 않음
+        if (inFlightAtSample < limit / 2) return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, config.rttTolerance() * longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - config.smoothing()) + newLimit * config.smoothing();
+        limit = Math.max(config.minLimit(), Math.min(config.maxLimit(), newLimit));
+    }
+
+    synchronized void onDrop() {
+        limit = Math.max(config.minLimit(), limit * config.backoffRatio());
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 자리를 반납한다. 여러 번 호출해도 한 번만 반납된다.
+         * 실패/취소처럼 처리 시간이 부하를 나타내지 않으면 measure=false로 표본에서 제외.
+         */
+        public void release(boolean measure) {
+            if (!released.compareAndSet(false, true)) return;
+            int current = inFlight.getAndDecrement();
+            if (measure) onSample(System.nanoTime() - startNanos, current);
+        }
+
+        /**
+         * 타임아웃/하위 서비스 오류로 실패한 경우 자리를 반납하고 한도를 곱셈으로 줄인다. 여러 번 호출해도 한 번만 반영된다.
+         */
+        public void drop() {
+            if (!released.compareAndSet(false, true)) return;
+            inFlight.decrementAndGet();
+            onDrop();
+        }
+    }
+}
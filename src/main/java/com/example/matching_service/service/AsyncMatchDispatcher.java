@@ -0,0 +1,96 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.dto.MatchRequest;
+import com.example.matching_service.dto.MatchStatus;
+import com.example.matching_service.dto.MatchStatusResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 매칭 모드: 요청을 대기열에 넣고 matchRequestId만 바로 돌려준 뒤, 동시 concurrency건까지만 매칭을 진행한다.
+ * 요청 접수 처리량이 매칭 지연(위치 서비스/Redis/Outbox)에 묶이지 않고, 대기열이 가득 차면 접수 단계에서 거절한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncMatchDispatcher {
+
+    private final MatchingService matchingService;
+    private final MatchResultRegistry resultRegistry;
+    private final MatchingProperties properties;
+
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+
+    public boolean isEnabled() {
+        return properties.async().enabled();
+    }
+
+    /**
+     * 매칭을 대기열에 넣고 matchRequestId를 돌려준다. 대기열이 가득 찼으면 empty.
+     */
+    public Optional<String> submit(String userId, MatchRequest request) {
+        if (queued.incrementAndGet() > properties.async().queueCapacity()) {
+            queued.decrementAndGet();
+            return Optional.empty();
+        }
+
+        String matchRequestId = UUID.randomUUID().toString();
+        resultRegistry.register(matchRequestId, userId);
+        waiting.add(() -> run(userId, request, matchRequestId));
+        drain();
+        return Optional.of(matchRequestId);
+    }
+
+    /**
+     * 결과가 나올 때까지 최대 pollTimeout 동안 기다린다. 그 안에 끝나지 않으면 PENDING. 없는 요청이면 empty.
+     */
+    public Optional<Mono<MatchStatusResponse>> awaitResult(String matchRequestId, String userId) {
+        return resultRegistry.find(matchRequestId, userId)
+                             .map(result -> result.timeout(properties.async().pollTimeout(),
+                                     Mono.just(new MatchStatusResponse(matchRequestId, MatchStatus.PENDING, "매칭 진행 중입니다."))));
+    }
+
+    // 진행 중 매칭이 concurrency 미만일 때만 대기열에서 꺼내 시작 (슬롯은 CAS로 먼저 확보)
+    private void drain() {
+        int concurrency = properties.async().concurrency();
+        while (true) {
+            int current = running.get();
+            if (current >= concurrency) return;
+            if (!running.compareAndSet(current, current + 1)) continue;
+
+            Runnable next = waiting.poll();
+            if (next == null) {
+                running.decrementAndGet();
+                // 슬롯을 반납하는 사이 들어온 요청이 있으면 다시 시도
+                if (waiting.isEmpty()) return;
+                continue;
+            }
+            queued.decrementAndGet();
+            next.run();
+        }
+    }
+
+    private void run(String userId, MatchRequest request, String matchRequestId) {
+        Mono.defer(() -> matchingService.requestMatch(userId, request, matchRequestId))
+            .doFinally(signal -> {
+                running.decrementAndGet();
+                drain();
+            })
+            .subscribe(response -> resultRegistry.complete(matchRequestId, MatchStatus.MATCHED, response.message()),
+                       error -> {
+                           log.warn("비동기 매칭 실패. Request ID: {}, Error: {}", matchRequestId, error.getMessage());
+                           resultRegistry.complete(matchRequestId, MatchStatus.FAILED, error.getMessage());
+                       });
+    }
+}
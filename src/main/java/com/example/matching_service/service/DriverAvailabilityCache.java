@@ -0,0 +1,119 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.config.MatchingProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * 노드 로컬 기사 배차 가능 여부 캐시.
+ * 예약/복구 시 Redis Pub/Sub 채널로 전파되는 상태 변경("{driverId}:0|1")을 구독해 갱신하며,
+ * 운행 중으로 알려진 기사는 Redis 왕복 없이 후보에서 제외하는 용도로만 사용한다. (최종 판정은 항상 예약 스크립트)
+ */
+@Component
+@Slf4j
+public class DriverAvailabilityCache {
+
+    private static final String AVAILABLE = "1";
+    private static final String BUSY = "0";
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final MatchingProperties.AvailabilityCache config;
+    private final Cache<String, Boolean> cache;
+    private final Counter staleCounter;
+
+    private Disposable subscription;
+
+    public DriverAvailabilityCache(ReactiveRedisTemplate<String, String> redisTemplate,
+                                   MatchingProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.config = properties.availabilityCache();
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(config.maxSize())
+                             .expireAfterWrite(config.ttl())
+                             .recordStats()
+                             .build();
+
+        // cache_gets{result=hit|miss}, cache_evictions, cache_size 등을 Prometheus로 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "driver-availability");
+        this.staleCounter = Counter.builder("matching.driver.availability.cache.stale")
+                                   .description("캐시상 배차 가능이었으나 예약 시점에 배차 불가로 판정된 횟수")
+                                   .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (!config.enabled()) return;
+
+        subscription = redisTemplate.listenToChannel(config.channel())
+                                    .map(ReactiveSubscription.Message::getMessage)
+                                    .doOnNext(this::applyChange)
+                                    // 구독이 끊겨도 TTL로 정합성이 보장되므로 백오프 후 재구독
+                                    .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                                                    .maxBackoff(Duration.ofSeconds(30))
+                                                    .doBeforeRetry(signal -> log.warn("기사 상태 변경 채널 재구독 시도. Error: {}",
+                                                            signal.failure().getMessage())))
+                                    .subscribe();
+        log.info("기사 상태 변경 채널 구독 시작: {}", config.channel());
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) subscription.dispose();
+    }
+
+    /**
+     * 운행 중으로 알려진 기사인지 확인 (캐시 히트/미스 통계에 반영됨)
+     */
+    public boolean isKnownBusy(String driverId) {
+        if (!config.enabled()) return false;
+        return Boolean.FALSE.equals(cache.getIfPresent(driverId));
+    }
+
+    public void record(String driverId, boolean available) {
+        if (!config.enabled()) return;
+        cache.put(driverId, available);
+    }
+
+    /**
+     * 예약 스크립트가 배차 불가로 판정한 기사. 캐시가 배차 가능으로 알고 있었다면 stale로 집계한다.
+     */
+    public void recordUnavailable(String driverId) {
+        if (!config.enabled()) return;
+        if (Boolean.TRUE.equals(cache.asMap().get(driverId))) {
+            staleCounter.increment();
+        }
+        cache.put(driverId, false);
+    }
+
+    public String channel() {
+        return config.channel();
+    }
+
+    private void applyChange(String message) {
+        int separator = message.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("알 수 없는 기사 상태 변경 메시지: {}", message);
+            return;
+        }
+
+        String driverId = message.substring(0, separator);
+        String status = message.substring(separator + 1);
+        if (AVAILABLE.equals(status) || BUSY.equals(status)) {
+            cache.put(driverId, AVAILABLE.equals(status));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.dto.MatchResponse;
+import com.example.matching_service.exception.MatchRejectedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 기반 중복 매칭 방지. 같은 사용자의 같은 키로 들어온 요청은 처음 요청의 결과를 함께 받고,
+ * 위치 검색이나 기사 예약을 다시 하지 않는다.
+ * 같은 인스턴스에서는 진행 중/완료된 결과(Sinks.One)를 로컬 캐시로 공유하고, 인스턴스 간에는 Redis SET NX 기록으로 처리 주체를 정한다.
+ * 매칭은 요청과 분리해 구독하므로 첫 클라이언트가 연결을 끊어도 끝까지 진행되고, 재시도는 그 결과를 받는다.
+ * 실패한 요청은 기록을 지워 재시도 시 다시 매칭한다 (실패 시 예약은 이미 롤백됨).
+ * 처리 중 기록은 짧은 pendingTtl로 두고 결과를 기록할 때 ttl로 늘려, 처리 주체가 죽어도 재시도가 ttl 동안 막히지 않게 한다.
+ */
+@Component
+@Slf4j
+public class MatchIdempotencyGuard {
+
+    private static final String KEY_PREFIX = "match_idempotency:";
+    private static final String PENDING = "PENDING";
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final Duration REMOTE_POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MatchingProperties.Idempotency config;
+    private final Cache<String, Sinks.One<MatchResponse>> localResults;
+
+    public MatchIdempotencyGuard(ReactiveRedisTemplate<String, String> reactiveRedisTemplate,
+                                 ObjectMapper objectMapper,
+                                 MatchingProperties properties) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.config = properties.idempotency();
+        this.localResults = Caffeine.newBuilder()
+                                    .maximumSize(config.localMaxSize())
+                                    .expireAfterWrite(config.ttl())
+                                    .build();
+    }
+
+    public Mono<MatchResponse> execute(String userId, String idempotencyKey, Mono<MatchResponse> match) {
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new IllegalArgumentException("Idempotency-Key는 " + MAX_KEY_LENGTH + "자 이하여야 합니다."));
+        }
+
+        String key = KEY_PREFIX + userId + ":" + idempotencyKey;
+        return Mono.defer(() -> {
+            Sinks.One<MatchResponse> created = Sinks.one();
+            Sinks.One<MatchResponse> shared = localResults.get(key, k -> created);
+            if (shared == created) start(key, match, created);
+            return shared.asMono();
+        });
+    }
+
+    // 호출자 구독과 분리해 실행하므로 호출자가 취소해도 매칭과 결과 기록은 계속됨
+    // 에러는 캐시하지 않으므로 실패하면 항목을 지워 다음 재시도가 처음부터 다시 처리
+    private void start(String key, Mono<MatchResponse> match, Sinks.One<MatchResponse> result) {
+        claimOrJoin(key, match).subscribe(
+                result::tryEmitValue,
+                error -> {
+                    localResults.asMap().remove(key, result);
+                    result.tryEmitError(error);
+                },
+                () -> {
+                    // 값 없이 끝난 경우만 (값을 낸 뒤의 완료 신호는 이미 종료된 sink라 무시됨)
+                    if (result.tryEmitEmpty().isSuccess()) localResults.asMap().remove(key, result);
+                });
+    }
+
+    private Mono<MatchResponse> claimOrJoin(String key, Mono<MatchResponse> match) {
+        return reactiveRedisTemplate.opsForValue()
+                                    .setIfAbsent(key, PENDING, config.pendingTtl())
+                                    .flatMap(claimed -> claimed ? runAndRecord(key, match) : awaitRecorded(key, match));
+    }
+
+    private Mono<MatchResponse> runAndRecord(String key, Mono<MatchResponse> match) {
+        return match.onErrorResume(error -> reactiveRedisTemplate.delete(key)
+                                                                 .onErrorResume(e -> Mono.empty())
+                                                                 .then(Mono.error(error)))
+                    .flatMap(response -> reactiveRedisTemplate.opsForValue()
+                                                              .set(key, encode(response), config.ttl())
+                                                              .onErrorResume(e -> {
+                                                                  // 기록 실패는 다른 인스턴스의 중복 방지만 약해지므로 응답은 그대로 돌려줌
+                                                                  log.warn("중복 방지 결과 기록 실패. Key: {}, Error: {}", key, e.getMessage());
+                                                                  return Mono.just(false);
+                                                              })
+                                                              .thenReturn(response));
+    }
+
+    // 다른 인스턴스가 처리 중이면 결과가 기록될 때까지 기다리고, 처리 주체가 실패해 기록이 지워졌거나 pendingTtl로 만료됐으면 직접 처리
+    private Mono<MatchResponse> awaitRecorded(String key, Mono<MatchResponse> match) {
+        return Mono.defer(() -> reactiveRedisTemplate.opsForValue().get(key).defaultIfEmpty(""))
+                   .flatMap(value -> {
+                       if (PENDING.equals(value)) return Mono.<MatchResponse>empty();
+                       if (value.isEmpty()) return claimOrJoin(key, match);
+                       return Mono.just(decode(value));
+                   })
+                   .repeatWhenEmpty(repeats -> repeats.delayElements(REMOTE_POLL_INTERVAL))
+                   .timeout(config.awaitTimeout(),
+                           Mono.error(new MatchRejectedException("같은 매칭 요청이 아직 처리 중입니다. 잠시 후 다시 시도해 주세요.")));
+    }
+
+    private String encode(MatchResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("매칭 결과 직렬화 실패", e);
+        }
+    }
+
+    private MatchResponse decode(String value) {
+        try {
+            return objectMapper.readValue(value, MatchResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("매칭 결과 역직렬화 실패", e);
+        }
+    }
+}
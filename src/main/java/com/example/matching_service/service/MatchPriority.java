@@ -0,0 +1,31 @@
+package com.example.matching_service.service;
+
+/**
+ * 매칭 요청 우선순위 (X-Match-Priority 헤더). 동시 실행 한도 중 각 우선순위가 사용할 수 있는 비율.
+ * 한도에 가까워지면 LOW부터 거절되어, 이미 기다린 사용자의 재시도(HIGH) 몫이 남는다.
+ * X-User-Id처럼 게이트웨이가 설정하는 헤더이며, 클라이언트가 보낸 값을 게이트웨이가 지우지 않는 환경에서는
+ * HIGH를 NORMAL로 취급한다. (matching.admission.trust-high-priority)
+ */
+public enum MatchPriority {
+    HIGH(1.0),   // 예: 타임아웃 후 재시도
+    NORMAL(0.9), // 기본값
+    LOW(0.5);    // 예: 예약 배차 등 지연을 허용하는 요청
+
+    private final double limitShare;
+
+    MatchPriority(double limitShare) {
+        this.limitShare = limitShare;
+    }
+
+    public double limitShare() {
+        return limitShare;
+    }
+
+    public static MatchPriority from(String header) {
+        if (header == null) return NORMAL;
+        for (MatchPriority priority : values()) {
+            if (priority.name().equalsIgnoreCase(header.trim())) return priority;
+        }
+        return NORMAL;
+    }
+}
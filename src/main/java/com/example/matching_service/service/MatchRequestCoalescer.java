@@ -0,0 +1,180 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.client.LocationServiceClient.NearbyDriver;
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.dto.MatchRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 같은 공간 셀에 짧은 시간(window) 동안 들어온 매칭 요청을 모아 한 번에 배정한다.
+ * 셀당 주변 기사 조회는 한 번만 하고, 배정은 assigner가 한 번에 수행하므로 같은 기사를 두고 락을 경쟁하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MatchRequestCoalescer {
+
+    private final MatchingProperties properties;
+
+    private final Map<Long, Batch> pendingBatches = new ConcurrentHashMap<>();
+
+    /**
+     * 셀 단위 배치 배정 함수. 결과는 요청 순서와 같은 크기의 리스트이며, 배정하지 못한 요청 자리는 null.
+     */
+    @FunctionalInterface
+    public interface BatchAssigner {
+        Mono<List<NearbyDriver>> assign(List<MatchRequest> requests);
+    }
+
+    /**
+     * 배정됐지만 요청이 이미 취소/타임아웃되어 전달하지 못한 기사의 예약을 되돌리는 함수.
+     */
+    @FunctionalInterface
+    public interface DriverReleaser {
+        Mono<?> release(List<String> driverIds);
+    }
+
+    /**
+     * 요청을 셀 배치에 넣고, 배치가 처리되면 예약된 기사를 돌려준다 (배정받지 못하면 empty).
+     * 배치는 첫 요청이 들어온 시점부터 window가 지나거나 maxBatchSize가 차면 처리되며, 첫 요청의 assigner/releaser를 사용한다.
+     */
+    public Mono<NearbyDriver> submit(MatchRequest request, BatchAssigner assigner, DriverReleaser releaser) {
+        return Mono.defer(() -> {
+            MatchingProperties.Coalescing config = properties.coalescing();
+            long cell = cellOf(request.origin(), config.cellSizeDeg());
+            Waiter waiter = new Waiter(releaser);
+
+            Batch batch = pendingBatches.compute(cell, (key, pending) -> {
+                if (pending == null) {
+                    pending = new Batch(assigner, releaser);
+                    Batch scheduled = pending;
+                    Schedulers.parallel().schedule(() -> flush(key, scheduled), config.window().toMillis(), TimeUnit.MILLISECONDS);
+                }
+                pending.add(request, waiter);
+                return pending;
+            });
+            if (batch.size() >= config.maxBatchSize()) flush(cell, batch);
+
+            // 배치가 submit 안에서 동기적으로 끝나 구독 전에 결과가 정해져도, 전달/취소 중 먼저 CAS에 성공한 쪽만 기사를 가져감
+            return waiter.result.asMono()
+                                .filter(waiter::deliver)
+                                .doOnCancel(waiter::cancel);
+        });
+    }
+
+    // 타이머와 크기 초과가 동시에 flush해도 맵에서 제거에 성공한 쪽만 처리
+    private void flush(long cell, Batch batch) {
+        if (!pendingBatches.remove(cell, batch)) return;
+
+        batch.assigner.assign(batch.requests)
+                      .defaultIfEmpty(List.of())
+                      .subscribe(batch::complete, error -> {
+                          log.warn("셀 배치 배정 실패 ({}건). Error: {}", batch.size(), error.getMessage());
+                          batch.fail(error);
+                      });
+    }
+
+    static long cellOf(MatchRequest.Location origin, double cellSizeDeg) {
+        long x = (long) Math.floor(origin.longitude() / cellSizeDeg);
+        long y = (long) Math.floor(origin.latitude() / cellSizeDeg);
+        return (x << 32) ^ (y & 0xFFFFFFFFL);
+    }
+
+    // 추가는 compute() 안에서만 일어나고, 요청/결과 목록은 맵에서 제거된 뒤에만 읽힘
+    private static final class Batch {
+
+        private final BatchAssigner assigner;
+        private final DriverReleaser releaser;
+        private final List<MatchRequest> requests = new ArrayList<>();
+        private final List<Waiter> waiters = new ArrayList<>();
+
+        private Batch(BatchAssigner assigner, DriverReleaser releaser) {
+            this.assigner = assigner;
+            this.releaser = releaser;
+        }
+
+        private void add(MatchRequest request, Waiter waiter) {
+            requests.add(request);
+            waiters.add(waiter);
+        }
+
+        private int size() {
+            return requests.size();
+        }
+
+        // 이미 취소된 요청에 배정된 기사는 예약 복구, 나머지는 구독 시점과 관계없이 결과를 남겨 둠
+        private void complete(List<NearbyDriver> drivers) {
+            List<String> undelivered = new ArrayList<>();
+            for (int i = 0; i < waiters.size(); i++) {
+                Waiter waiter = waiters.get(i);
+                NearbyDriver driver = i < drivers.size() ? drivers.get(i) : null;
+                if (driver == null) {
+                    waiter.result.tryEmitEmpty();
+                } else if (waiter.assign(driver)) {
+                    waiter.result.tryEmitValue(driver);
+                } else {
+                    undelivered.add(driver.driverId());
+                }
+            }
+            if (undelivered.isEmpty()) return;
+
+            log.warn("취소된 요청에 배정된 기사 예약 복구: {}", undelivered);
+            releaser.release(undelivered)
+                    .subscribe(null, error -> log.error("취소된 요청의 기사 예약 복구 실패: {}", undelivered, error));
+        }
+
+        // assigner는 실패 시 자신이 예약한 기사를 이미 되돌린 상태로 에러를 냄
+        private void fail(Throwable error) {
+            waiters.forEach(waiter -> waiter.result.tryEmitError(error));
+        }
+    }
+
+    /**
+     * 요청 하나의 배정 상태. null(대기) -> 배정된 기사 -> DELIVERED 또는 CANCELLED 순으로만 바뀐다.
+     * 배정과 취소, 전달과 취소가 경합해도 CAS로 한쪽만 성공하므로 같은 기사가 전달되면서 동시에 복구되지 않는다.
+     */
+    private static final class Waiter {
+
+        private static final Object DELIVERED = new Object();
+        private static final Object CANCELLED = new Object();
+
+        private final Sinks.One<NearbyDriver> result = Sinks.one();
+        private final AtomicReference<Object> state = new AtomicReference<>();
+        private final DriverReleaser releaser;
+
+        private Waiter(DriverReleaser releaser) {
+            this.releaser = releaser;
+        }
+
+        // 배치 쪽: 아직 취소되지 않았으면 기사를 배정
+        private boolean assign(NearbyDriver driver) {
+            return state.compareAndSet(null, driver);
+        }
+
+        // 구독자 쪽: 배정된 기사를 가져감 (이미 취소됐으면 false)
+        private boolean deliver(NearbyDriver driver) {
+            return state.compareAndSet(driver, DELIVERED);
+        }
+
+        // 구독자 쪽: 배정은 됐지만 아직 전달받지 않은 기사가 있으면 예약 복구
+        private void cancel() {
+            if (!(state.getAndSet(CANCELLED) instanceof NearbyDriver driver)) return;
+
+            log.warn("취소된 요청에 배정된 기사 예약 복구: {}", driver.driverId());
+            releaser.release(List.of(driver.driverId()))
+                    .subscribe(null, error -> log.error("취소된 요청의 기사 예약 복구 실패: {}", driver.driverId(), error));
+        }
+    }
+}
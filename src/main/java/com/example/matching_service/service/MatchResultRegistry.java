@@ -0,0 +1,52 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.dto.MatchStatus;
+import com.example.matching_service.dto.MatchStatusResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Optional;
+
+/**
+ * 비동기 매칭 결과 보관소. 접수 시 등록하고 매칭이 끝나면 결과를 채우며, resultTtl이 지나면 제거한다.
+ * 결과 조회는 결과가 나오기 전이면 나올 때까지 기다리는 Mono로 돌려준다.
+ */
+@Component
+public class MatchResultRegistry {
+
+    private final Cache<String, PendingMatch> matches;
+
+    public MatchResultRegistry(MatchingProperties properties) {
+        MatchingProperties.Async config = properties.async();
+        this.matches = Caffeine.newBuilder()
+                               .maximumSize(config.maxResults())
+                               .expireAfterWrite(config.resultTtl())
+                               .build();
+    }
+
+    public void register(String matchRequestId, String userId) {
+        matches.put(matchRequestId, new PendingMatch(userId, Sinks.one()));
+    }
+
+    public void complete(String matchRequestId, MatchStatus status, String message) {
+        PendingMatch match = matches.getIfPresent(matchRequestId);
+        if (match == null) return; // 이미 만료됨
+
+        match.result().tryEmitValue(new MatchStatusResponse(matchRequestId, status, message));
+    }
+
+    /**
+     * 요청자 본인의 결과만 조회한다. 없거나 만료됐으면 empty.
+     */
+    public Optional<Mono<MatchStatusResponse>> find(String matchRequestId, String userId) {
+        PendingMatch match = matches.getIfPresent(matchRequestId);
+        if (match == null || !match.userId().equals(userId)) return Optional.empty();
+        return Optional.of(match.result().asMono());
+    }
+
+    private record PendingMatch(String userId, Sinks.One<MatchStatusResponse> result) {}
+}
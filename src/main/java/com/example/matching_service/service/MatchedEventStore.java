@@ -0,0 +1,13 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.dto.kafka.TripMatchedEvent;
+import reactor.core.publisher.Mono;
+
+/**
+ * 매칭 완료 이벤트를 Kafka로 발행될 때까지 내구성 있게 보관하는 저장소.
+ * Mono가 완료되면 이벤트는 반드시 (최소 한 번) 발행된다.
+ */
+public interface MatchedEventStore {
+
+    Mono<Void> store(TripMatchedEvent event);
+}
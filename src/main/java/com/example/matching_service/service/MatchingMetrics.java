@@ -0,0 +1,139 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.config.MatchingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 매칭 단계별 지표. 태그 조합이 고정된 미터는 생성 시점에 미리 등록해 요청마다 조회/할당하지 않는다.
+ */
+@Component
+public class MatchingMetrics {
+
+    public enum GeoSource { LOCAL, REMOTE }
+
+    public enum MatchOutcome { MATCHED, NO_DRIVER, STORE_FAILURE, ERROR, CANCELLED }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ReservationResult, Counter> reservationCounters = new EnumMap<>(ReservationResult.class);
+    private final Map<MatchOutcome, Timer> matchTimers = new EnumMap<>(MatchOutcome.class);
+    private final Map<GeoSource, Map<Integer, Timer>> geoLookupTimers = new EnumMap<>(GeoSource.class);
+    private final Timer reservationTimer;
+    private final Timer eventStoreTimer;
+    private final DistributionSummary candidatesExamined;
+    private final DistributionSummary coalescedBatchSize;
+
+    public MatchingMetrics(MeterRegistry meterRegistry, MatchingProperties properties) {
+        this.meterRegistry = meterRegistry;
+        for (ReservationResult result : ReservationResult.values()) {
+            reservationCounters.put(result, Counter.builder("matching.reservation.attempts")
+                                                   .description("기사 예약 스크립트 실행 결과 (LOCKED_BY_OTHER = 락 경합)")
+                                                   .tag("result", result.name())
+                                                   .register(meterRegistry));
+        }
+        for (MatchOutcome outcome : MatchOutcome.values()) {
+            matchTimers.put(outcome, Timer.builder("matching.request.latency")
+                                          .description("매칭 요청 접수부터 결과 확정까지 걸린 시간")
+                                          .tag("outcome", outcome.name())
+                                          .publishPercentileHistogram()
+                                          .register(meterRegistry));
+        }
+        for (GeoSource source : GeoSource.values()) {
+            Map<Integer, Timer> timers = new HashMap<>();
+            for (int radiusKm : properties.search().radiiKm()) {
+                timers.put(radiusKm, geoLookupTimer(source, radiusKm));
+            }
+            geoLookupTimers.put(source, timers);
+        }
+        this.reservationTimer = Timer.builder("matching.reservation.latency")
+                                     .description("기사 예약 스크립트(락 + 상태 확인 + 예약) Redis 왕복 시간")
+                                     .publishPercentileHistogram()
+                                     .register(meterRegistry);
+        this.eventStoreTimer = Timer.builder("matching.event.store.latency")
+                                    .description("매칭 이벤트 저장(Outbox 또는 저널) 시간")
+                                    .publishPercentileHistogram()
+                                    .register(meterRegistry);
+        this.candidatesExamined = DistributionSummary.builder("matching.candidates.examined")
+                                                     .description("매칭 한 건당 검사한 후보 기사 수")
+                                                     .register(meterRegistry);
+        this.coalescedBatchSize = DistributionSummary.builder("matching.coalescing.batch.size")
+                                                     .description("셀 단위로 묶어 한 번에 배정한 요청 수")
+                                                     .register(meterRegistry);
+    }
+
+    public void recordReservation(ReservationResult result) {
+        reservationCounters.get(result).increment();
+    }
+
+    public void recordReservationLatency(long startNanos) {
+        reservationTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordEventStoreLatency(long startNanos) {
+        eventStoreTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordGeoLookup(GeoSource source, int radiusKm, long startNanos) {
+        // 설정된 반경이면 미리 등록된 타이머 사용 (radiusKm는 Integer 캐시 범위라 박싱 할당 없음)
+        Timer timer = geoLookupTimers.get(source).get(radiusKm);
+        if (timer == null) timer = geoLookupTimer(source, radiusKm);
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCoalescedBatch(int size) {
+        coalescedBatchSize.record(size);
+    }
+
+    public MatchTrace startMatch() {
+        return new MatchTrace(System.nanoTime());
+    }
+
+    // 실패 원인은 처리 도중 trace에 표시된 값(기본 ERROR)을 사용
+    public void failMatch(MatchTrace trace) {
+        finishMatch(trace, trace.failure);
+    }
+
+    public void finishMatch(MatchTrace trace, MatchOutcome outcome) {
+        matchTimers.get(outcome).record(System.nanoTime() - trace.startNanos, TimeUnit.NANOSECONDS);
+        candidatesExamined.record(trace.candidates.get());
+    }
+
+    private Timer geoLookupTimer(GeoSource source, int radiusKm) {
+        return Timer.builder("matching.geo.lookup.latency")
+                    .description("반경별 주변 기사 검색 시간 (LOCAL = 공간 인덱스, REMOTE = 위치 서비스)")
+                    .tag("source", source.name())
+                    .tag("radius_km", String.valueOf(radiusKm))
+                    .register(meterRegistry);
+    }
+
+    /**
+     * 매칭 요청 한 건의 측정 상태. 검색 방식에 따라 여러 링을 동시에 검사하므로 후보 수는 원자적으로 센다.
+     */
+    public static final class MatchTrace {
+
+        private final long startNanos;
+        private final AtomicInteger candidates = new AtomicInteger();
+        private volatile MatchOutcome failure = MatchOutcome.ERROR;
+
+        private MatchTrace(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public void candidateExamined() {
+            candidates.incrementAndGet();
+        }
+
+        public void failedWith(MatchOutcome outcome) {
+            this.failure = outcome;
+        }
+    }
+}
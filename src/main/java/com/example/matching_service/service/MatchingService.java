@@ -1,22 +1,39 @@
 package com.example.matching_service.service;
 
 import com.example.matching_service.client.LocationServiceClient;
+import com.example.matching_service.config.MatchingProperties;
 import com.example.matching_service.dto.MatchRequest;
 import com.example.matching_service.dto.MatchResponse;
 import com.example.matching_service.dto.kafka.TripMatchedEvent;
-import com.example.matching_service.entity.MatchingOutbox;
-import com.example.matching_service.repository.MatchingOutboxRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.matching_service.exception.NoDriverAvailableException;
+import com.example.matching_service.geo.DriverGeoIndex;
+import com.example.matching_service.kafka.DriverStatusPublisher;
+import com.example.matching_service.service.MatchingMetrics.GeoSource;
+import com.example.matching_service.service.MatchingMetrics.MatchOutcome;
+import com.example.matching_service.service.MatchingMetrics.MatchTrace;
+import com.example.matching_service.status.DriverStatusMirror;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,122 +42,359 @@ public class MatchingService {
 
     private final LocationServiceClient locationServiceClient;
     private final ReactiveRedisTemplate<String, String> reactiveRedisTemplate; // 영속화용 레디스
-    private final MatchingOutboxRepository outboxRepository;
-    private final ObjectMapper objectMapper;
+    private final MatchedEventStore matchedEventStore;
+    private final MatchingProperties properties;
+    private final DriverAvailabilityCache availabilityCache;
+    private final DriverGeoIndex geoIndex;
+    private final DriverStatusMirror statusMirror;
+    private final DriverStatusPublisher statusPublisher;
+    private final MatchingMetrics metrics;
+    private final MatchRequestCoalescer coalescer;
+    private final Scheduler blockingScheduler;
+
+    private static final Duration LOCK_TTL = Duration.ofSeconds(10);
+
+    // 운행 중 기사 ZSET (score = 예약 시각 epoch 초). 상태 해시와 같은 스크립트 안에서만 갱신됨
+    public static final String BUSY_DRIVERS_KEY = "busy_drivers";
+
+    // 락 획득 + 상태 확인 + 예약을 한 번의 왕복으로 처리 (ReactiveRedisTemplate이 EVALSHA로 캐싱 실행)
+    private static final RedisScript<Long> RESERVE_DRIVER_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/reserve_driver.lua"), Long.class);
+
+    // 후보 N명의 isAvailable 값을 한 번의 왕복으로 조회
+    private static final RedisScript<String> CHECK_AVAILABILITY_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/check_availability.lua"), String.class);
+
+    // 여러 기사의 상태 복구 + 변경 전파를 한 번의 왕복으로 처리
+    private static final RedisScript<Long> RELEASE_DRIVERS_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/release_drivers.lua"), Long.class);
 
     private record DriverCandidate(String driverId, double distance) {}
 
+    // (innerRadiusKm, radiusKm] 구간의 검색 링
+    private record SearchRing(int innerRadiusKm, int radiusKm) {}
+
     public Mono<MatchResponse> requestMatch(String userId, MatchRequest request) {
-        String matchRequestId = UUID.randomUUID().toString();
+        return requestMatch(userId, request, UUID.randomUUID().toString());
+    }
+
+    // 비동기 모드는 접수 시점에 발급한 matchRequestId로 결과를 찾으므로 ID를 받아서 처리
+    public Mono<MatchResponse> requestMatch(String userId, MatchRequest request, String matchRequestId) {
         String tripId = UUID.randomUUID().toString();
         log.info("매칭 요청 접수. Request ID: {}, Trip ID: {}", matchRequestId, tripId);
 
-        return processMatchingLogic(request, tripId, userId, matchRequestId);
+        MatchTrace trace = metrics.startMatch();
+        return processMatchingLogic(request, tripId, userId, matchRequestId, trace);
     }
 
     public Mono<Boolean> releaseDriver(String driverId) {
-        String key = "driver_status:" + driverId;
+        return executeRelease(List.of(driverId))
+                .map(released -> released > 0)
+                .doOnSuccess(v -> log.info("기사 상태 복구 완료: {}", driverId))
+                .doOnError(e -> log.error("기사 상태 복구 실패: {}", driverId, e));
+    }
+
+    /**
+     * 운행 종료/취소 배치의 기사들을 한 번에 복구한다. 스크립트 단위로 원자적이라 실패 시 어느 기사도 복구되지 않는다.
+     */
+    public Mono<Long> releaseDrivers(List<String> driverIds) {
+        if (driverIds.isEmpty()) return Mono.just(0L);
 
-        return reactiveRedisTemplate.opsForHash().put(key, "isAvailable", "1")
-                                    .doOnSuccess(v -> log.info("기사 상태 복구 완료: {}", driverId))
-                                    .doOnError(e -> log.error("기사 상태 복구 실패: {}", driverId, e));
+        return executeRelease(driverIds)
+                .doOnError(e -> log.error("기사 상태 일괄 복구 실패 ({}명)", driverIds.size(), e));
     }
 
-    private Mono<MatchResponse> processMatchingLogic(MatchRequest request, String tripId, String userId, String requestId) {
-        return findBestDriver(request)
-                .switchIfEmpty(Mono.error(new RuntimeException("배차 가능한 기사가 없습니다.")))
-                .flatMap(bestDriver -> {
-                    String key = "driver_status:" + bestDriver.driverId();
-                    return reactiveRedisTemplate.opsForHash().put(key, "isAvailable", "0")
-                                                .then(Mono.just(bestDriver));
-                })
+    // 상태 복구 + 운행 중 ZSET 제거 + 변경 전파를 원자적으로 실행
+    private Mono<Long> executeRelease(List<String> driverIds) {
+        List<String> keys = new ArrayList<>(driverIds.size() + 1);
+        List<String> args = new ArrayList<>(driverIds.size() + 1);
+        keys.add(BUSY_DRIVERS_KEY);
+        args.add(availabilityCache.channel());
+        for (String driverId : driverIds) {
+            keys.add("driver_status:" + driverId);
+            args.add(driverId);
+        }
+
+        return reactiveRedisTemplate.execute(RELEASE_DRIVERS_SCRIPT, keys, args)
+                                    .next()
+                                    .doOnNext(released -> {
+                                        driverIds.forEach(driverId -> availabilityCache.record(driverId, true));
+                                        statusPublisher.publishAll(driverIds, true);
+                                    });
+    }
+
+    private Mono<MatchResponse> processMatchingLogic(MatchRequest request, String tripId, String userId, String requestId,
+                                                     MatchTrace trace) {
+        return findBestDriver(request, trace)
+                .switchIfEmpty(Mono.defer(() -> {
+                    trace.failedWith(MatchOutcome.NO_DRIVER);
+                    return Mono.error(new NoDriverAvailableException());
+                }))
                 .flatMap(bestDriver -> {
                     TripMatchedEvent event = new TripMatchedEvent(
                             tripId, userId, bestDriver.driverId(),
                             request.origin(), request.destination(), LocalDateTime.now()
                     );
 
-                    return saveToOutbox(event)
-                            .map(v -> new MatchResponse("매칭 성공!", requestId))
+                    long storeStartNanos = System.nanoTime();
+                    return matchedEventStore.store(event)
+                            .doOnTerminate(() -> metrics.recordEventStoreLatency(storeStartNanos))
+                            .thenReturn(new MatchResponse("매칭 성공!", requestId))
                             .onErrorResume(error -> {
-                                log.error("❌ Outbox 저장 실패. 롤백 시작. Driver ID: {}", bestDriver.driverId(), error);
+                                trace.failedWith(MatchOutcome.STORE_FAILURE);
+                                log.error("❌ 매칭 이벤트 저장 실패. 롤백 시작. Driver ID: {}", bestDriver.driverId(), error);
                                 return releaseDriver(bestDriver.driverId())
                                         .then(releaseLock(bestDriver.driverId()))
                                         .then(Mono.error(error)); // 에러를 그대로 위로 던짐
                             });
                 })
-                .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(res -> log.info("매칭 프로세스 종료. Trip ID: {}", tripId))
-                .doOnError(err -> log.error("❌ 매칭 처리 중 치명적 오류. Trip ID: {}", tripId, err));
-    }
-
-    private Mono<DriverCandidate> findBestDriver(MatchRequest request) {
-        // 1km -> 2km -> 3km 순차 확장 검색
-        return findBestDriverInRadius(request, 1)
-                .switchIfEmpty(findBestDriverInRadius(request, 2))
-                .switchIfEmpty(findBestDriverInRadius(request, 3))
-                // 3km까지 다 뒤져도 없으면?
-                .doOnSuccess(candidate -> {
-                    if (candidate == null) log.info("반경 3km 내 배차 가능 기사 없음.");
+                .subscribeOn(blockingScheduler)
+                .doOnSuccess(res -> {
+                    metrics.finishMatch(trace, MatchOutcome.MATCHED);
+                    log.info("매칭 프로세스 종료. Trip ID: {}", tripId);
+                })
+                .doOnError(err -> {
+                    metrics.failMatch(trace);
+                    log.error("❌ 매칭 처리 중 치명적 오류. Trip ID: {}", tripId, err);
+                })
+                .doOnCancel(() -> metrics.finishMatch(trace, MatchOutcome.CANCELLED));
+    }
+
+    private Mono<DriverCandidate> findBestDriver(MatchRequest request, MatchTrace trace) {
+        List<Integer> radii = properties.search().radiiKm();
+        int maxRadiusKm = radii.get(radii.size() - 1);
+
+        Mono<DriverCandidate> search = switch (properties.search().strategy()) {
+            case SEQUENTIAL -> searchSequentially(request, toRings(radii), trace);
+            case WIDEST -> searchWidestOnce(request, radii, trace);
+            case HEDGED -> searchHedged(request, toRings(radii), trace);
+        };
+
+        // 같은 셀의 요청을 모아 한 번에 배정하고, 배정받지 못한 요청(예약 경합 등)만 개별 검색
+        if (properties.coalescing().enabled()) {
+            search = coalescer.submit(request, this::assignBatch, this::releaseDrivers)
+                              .map(driver -> new DriverCandidate(driver.driverId(), driver.distance()))
+                              .switchIfEmpty(search);
+        }
+
+        // 가장 넓은 반경까지 다 뒤져도 없으면?
+        return search.doOnSuccess(candidate -> {
+            if (candidate == null) log.info("반경 {}km 내 배차 가능 기사 없음.", maxRadiusKm);
+        });
+    }
+
+    // 1km -> 2km -> 3km 순차 확장 검색 (앞 반경에서 예약에 성공하면 다음 반경은 호출하지 않음)
+    private Mono<DriverCandidate> searchSequentially(MatchRequest request, List<SearchRing> rings, MatchTrace trace) {
+        return Flux.fromIterable(rings)
+                   .concatMap(ring -> reserveFirstAvailable(findDriversInRing(request, ring), trace))
+                   .next();
+    }
+
+    // 가장 넓은 반경으로 한 번만 호출한 뒤, 거리 구간별로 정렬해 안쪽 링부터 검사
+    private Mono<DriverCandidate> searchWidestOnce(MatchRequest request, List<Integer> radii, MatchTrace trace) {
+        int maxRadiusKm = radii.get(radii.size() - 1);
+
+        Flux<LocationServiceClient.NearbyDriver> bucketed =
+                findNearbyDrivers(request.origin(), maxRadiusKm)
+                        .collectSortedList(Comparator.comparingInt(driver -> ringIndexOf(driver, radii)))
+                        .flatMapIterable(Function.identity());
+
+        return reserveFirstAvailable(bucketed, trace);
+    }
+
+    // 모든 링을 동시에 조회하고 결과는 안쪽 링 순서대로 검사, 예약에 성공하면 남은 바깥 링 호출은 취소됨
+    private Mono<DriverCandidate> searchHedged(MatchRequest request, List<SearchRing> rings, MatchTrace trace) {
+        return Flux.fromIterable(rings)
+                   .flatMapSequential(ring -> findDriversInRing(request, ring).collectList(), rings.size())
+                   .concatMap(drivers -> reserveFirstAvailable(Flux.fromIterable(drivers), trace))
+                   .next();
+    }
+
+    private List<SearchRing> toRings(List<Integer> radii) {
+        List<SearchRing> rings = new ArrayList<>(radii.size());
+        int innerRadiusKm = 0;
+        for (int radiusKm : radii) {
+            rings.add(new SearchRing(innerRadiusKm, radiusKm));
+            innerRadiusKm = radiusKm;
+        }
+        return rings;
+    }
+
+    private int ringIndexOf(LocationServiceClient.NearbyDriver driver, List<Integer> radii) {
+        if (Double.isNaN(driver.distance())) return radii.size(); // 거리 정보 없음
+        for (int i = 0; i < radii.size(); i++) {
+            if (driver.distance() <= radii.get(i)) return i;
+        }
+        return radii.size();
+    }
+
+    // 안쪽 링에서 이미 검사한 기사는 제외하고 해당 링에 새로 들어온 기사만 반환
+    private Flux<LocationServiceClient.NearbyDriver> findDriversInRing(MatchRequest request, SearchRing ring) {
+        return findNearbyDrivers(request.origin(), ring.radiusKm())
+                .filter(driver -> Double.isNaN(driver.distance()) || driver.distance() > ring.innerRadiusKm());
+    }
+
+    // 로컬 공간 인덱스가 최신 상태면 k-최근접 조회로 대체하고, 아니면 위치 서비스 호출
+    // 로컬 조회 결과가 비어 있으면 인덱스 누락일 수 있으므로 remoteFallback이 켜져 있을 때 위치 서비스로 한 번 더 확인
+    private Flux<LocationServiceClient.NearbyDriver> findNearbyDrivers(MatchRequest.Location origin, int radiusKm) {
+        double longitude = origin.longitude();
+        double latitude = origin.latitude();
+        boolean remoteFallback = properties.geoIndex().remoteFallback();
+
+        if (geoIndex.isReady()) {
+            Flux<LocationServiceClient.NearbyDriver> local = Flux.defer(() -> {
+                long startNanos = System.nanoTime();
+                List<LocationServiceClient.NearbyDriver> drivers =
+                        geoIndex.findNearest(longitude, latitude, radiusKm, properties.geoIndex().maxCandidates());
+                metrics.recordGeoLookup(GeoSource.LOCAL, radiusKm, startNanos);
+                return Flux.fromIterable(drivers);
+            });
+            return remoteFallback ? local.switchIfEmpty(findRemoteDrivers(longitude, latitude, radiusKm)) : local;
+        }
+        if (geoIndex.isEnabled() && !remoteFallback) {
+            log.warn("로컬 공간 인덱스가 준비되지 않았고 위치 서비스 대체 호출이 꺼져 있습니다.");
+            return Flux.empty();
+        }
+        return findRemoteDrivers(longitude, latitude, radiusKm);
+    }
+
+    private Flux<LocationServiceClient.NearbyDriver> findRemoteDrivers(double longitude, double latitude, int radiusKm) {
+        // 예약에 성공해 나머지 결과가 취소되는 경우도 응답 수신 이후이므로 doFinally로 기록
+        return Flux.defer(() -> {
+            long startNanos = System.nanoTime();
+            return locationServiceClient.findNearbyDrivers(longitude, latitude, radiusKm)
+                                        .doFinally(signal -> metrics.recordGeoLookup(GeoSource.REMOTE, radiusKm, startNanos));
+        });
+    }
+
+    // 셀 중심에서 한 번만 조회한 뒤 배차 가능 기사를 가까운 순으로 정렬해, 먼저 들어온 요청부터 한 명씩 배정(greedy)
+    // 위치 서비스는 조회 지점 기준 거리만 주므로 셀(수백 m) 중심 거리를 요청별 거리의 근사로 사용
+    private Mono<List<LocationServiceClient.NearbyDriver>> assignBatch(List<MatchRequest> requests) {
+        double longitude = requests.stream().mapToDouble(request -> request.origin().longitude()).average().orElseThrow();
+        double latitude = requests.stream().mapToDouble(request -> request.origin().latitude()).average().orElseThrow();
+        List<Integer> radii = properties.search().radiiKm();
+        metrics.recordCoalescedBatch(requests.size());
+
+        return findNearbyDrivers(new MatchRequest.Location(longitude, latitude), radii.get(radii.size() - 1))
+                .filter(driver -> !availabilityCache.isKnownBusy(driver.driverId()))
+                .buffer(properties.candidate().batchSize())
+                .concatMap(this::filterAvailable)
+                .collectSortedList(Comparator.comparingDouble(driver -> Double.isNaN(driver.distance()) ? Double.MAX_VALUE : driver.distance()))
+                .flatMap(available -> {
+                    // 배정된 기사끼리는 겹치지 않으므로 동시에 예약해도 서로 경합하지 않음
+                    // 한 자리의 예약 오류는 그 요청만 배정 실패(개별 검색)로 돌리고, 다른 자리에서 예약된 기사는 그대로 전달
+                    LocationServiceClient.NearbyDriver[] assigned = new LocationServiceClient.NearbyDriver[requests.size()];
+                    return Flux.range(0, Math.min(available.size(), requests.size()))
+                               .flatMap(i -> tryReserveDriver(available.get(i))
+                                       .filter(ReservationResult::isReserved)
+                                       .doOnNext(result -> assigned[i] = available.get(i))
+                                       .onErrorResume(error -> {
+                                           log.warn("셀 배치 기사 예약 실패: {}. Error: {}", available.get(i).driverId(), error.getMessage());
+                                           return Mono.empty();
+                                       }))
+                               .then(Mono.fromSupplier(() -> Arrays.asList(assigned)))
+                               .onErrorResume(error -> releaseAssigned(assigned).then(Mono.error(error)));
                 });
     }
 
-    private Mono<MatchingOutbox> saveToOutbox(TripMatchedEvent event) {
-        return Mono.fromCallable(() -> {
-            try {
-                String payload = objectMapper.writeValueAsString(event);
-                MatchingOutbox outbox = MatchingOutbox.builder()
-                                                      .aggregateId(event.tripId())
-                                                      .topic("matching_events")
-                                                      .payload(payload)
-                                                      .build();
+    // 배치가 실패하면 요청에 전달되지 못하는 기사의 예약을 되돌림
+    private Mono<Long> releaseAssigned(LocationServiceClient.NearbyDriver[] assigned) {
+        List<String> driverIds = Arrays.stream(assigned)
+                                       .filter(Objects::nonNull)
+                                       .map(LocationServiceClient.NearbyDriver::driverId)
+                                       .toList();
+        return releaseDrivers(driverIds).onErrorResume(error -> Mono.empty());
+    }
+
+    private Mono<DriverCandidate> reserveFirstAvailable(Flux<LocationServiceClient.NearbyDriver> candidates, MatchTrace trace) {
+        candidates = candidates.doOnNext(driver -> trace.candidateExamined());
+
+        // 이 노드가 운행 중으로 알고 있는 기사는 Redis 조회 없이 제외
+        candidates = candidates.filter(driver -> !availabilityCache.isKnownBusy(driver.driverId()));
 
-                return outboxRepository.save(outbox);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("JSON 변환 실패", e);
-            }
-        }).subscribeOn(Schedulers.boundedElastic());
+        // prefetch 1: 앞 배치/후보의 판정이 끝나야 다음 후보를 요청하므로, 예약에 성공하면 위치 서비스 응답을 더 읽지 않음
+        if (properties.candidate().batchEnabled()) {
+            candidates = candidates.buffer(properties.candidate().batchSize())
+                                   .concatMap(this::filterAvailable, 1);
+        }
+
+        return candidates.filterWhen(driver -> tryReserveDriver(driver).map(ReservationResult::isReserved), 1)
+                         .next()
+                         .map(d -> new DriverCandidate(d.driverId(), d.distance()));
     }
 
-    private Mono<DriverCandidate> findBestDriverInRadius(MatchRequest request, int radiusKm) {
-        return locationServiceClient.findNearbyDrivers(
-                                            request.origin().longitude(), request.origin().latitude(), radiusKm)
-                                    .filterWhen(this::tryLockAndVerifyDriver)
+    // 배치 단위로 상태를 한 번에 조회해 배차 불가 기사를 로컬에서 걸러냄 (최종 판정은 예약 스크립트가 원자적으로 수행)
+    // 로컬 상태 미러가 배차 가능으로 아는 기사만 조회를 건너뛰고, 운행 중 표시나 모르는 기사는 조회
+    private Flux<LocationServiceClient.NearbyDriver> filterAvailable(List<LocationServiceClient.NearbyDriver> batch) {
+        List<LocationServiceClient.NearbyDriver> unknown =
+                batch.stream()
+                     .filter(driver -> statusMirror.statusOf(driver.driverId()) != DriverStatusMirror.Status.AVAILABLE)
+                     .toList();
+        if (unknown.isEmpty()) return Flux.fromIterable(batch);
+
+        List<String> keys = unknown.stream()
+                                   .map(driver -> "driver_status:" + driver.driverId())
+                                   .toList();
+
+        return reactiveRedisTemplate.execute(CHECK_AVAILABILITY_SCRIPT, keys, List.of())
                                     .next()
-                                    .map(d -> new DriverCandidate(d.driverId(), d.distance()));
-    }
-
-    private Mono<Boolean> tryLockAndVerifyDriver(LocationServiceClient.NearbyDriver driver) {
-        String lockKey = "matching_lock:" + driver.driverId();
-
-        // 우선 락 획득 시도 (동시성 방어)
-        return reactiveRedisTemplate.opsForValue()
-                                    .setIfAbsent(lockKey, "LOCKED", java.time.Duration.ofSeconds(10))
-                                    .flatMap(locked -> {
-                                        if (!locked) return Mono.just(false); // 락 획득 실패 시 즉시 탈락
-
-                                        // 락 획득 성공 시, 실제 기사 상태가 '1(가능)'인지 확인 (영속성 확인)
-                                        return isDriverAvailable(driver)
-                                                .flatMap(available -> {
-                                                    if (available) {
-                                                        return Mono.just(true); // 상태도 '1'이면 최종 통과
-                                                    } else {
-                                                        // 락은 잡았지만 상태가 '0'이면, 락을 다시 풀어주고 탈락 처리
-                                                        return releaseLock(driver.driverId()).thenReturn(false);
-                                                    }
-                                                });
-                                    });
+                                    .map(flags -> IntStream.range(0, unknown.size())
+                                                           .filter(i -> {
+                                                               boolean available = i < flags.length() && flags.charAt(i) == '1';
+                                                               availabilityCache.record(unknown.get(i).driverId(), available);
+                                                               return !available;
+                                                           })
+                                                           .mapToObj(i -> unknown.get(i).driverId())
+                                                           .collect(Collectors.toSet()))
+                                    .onErrorResume(error -> {
+                                        log.warn("후보 기사 상태 일괄 조회 실패 ({}명). fallback: {}. Error: {}",
+                                                unknown.size(), properties.candidate().fallbackOnError(), error.getMessage());
+                                        return Mono.just(properties.candidate().fallbackOnError()
+                                                ? Set.<String>of()
+                                                : unknown.stream().map(LocationServiceClient.NearbyDriver::driverId).collect(Collectors.toSet()));
+                                    })
+                                    .flatMapMany(unavailable -> Flux.fromIterable(batch)
+                                                                    .filter(driver -> !unavailable.contains(driver.driverId())));
+    }
+
+    private Mono<ReservationResult> tryReserveDriver(LocationServiceClient.NearbyDriver driver) {
+        List<String> keys = List.of("matching_lock:" + driver.driverId(), "driver_status:" + driver.driverId(), BUSY_DRIVERS_KEY);
+        List<String> args = List.of(String.valueOf(LOCK_TTL.toSeconds()), availabilityCache.channel(), driver.driverId());
+
+        // 락 획득 -> 상태 확인('1') -> 상태 변경('0') -> 변경 전파를 Redis 서버에서 원자적으로 실행
+        Mono<Long> reservation = Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return reactiveRedisTemplate.execute(RESERVE_DRIVER_SCRIPT, keys, args)
+                                        .next()
+                                        .doOnTerminate(() -> metrics.recordReservationLatency(startNanos));
+        });
+
+        return reservation.map(ReservationResult::fromCode)
+                          .defaultIfEmpty(ReservationResult.UNAVAILABLE)
+                          .doOnNext(result -> {
+                              metrics.recordReservation(result);
+                              switch (result) {
+                                  case RESERVED -> {
+                                      availabilityCache.record(driver.driverId(), false);
+                                      statusPublisher.publish(driver.driverId(), false);
+                                  }
+                                  case UNAVAILABLE -> {
+                                      availabilityCache.recordUnavailable(driver.driverId());
+                                      // 미러가 배차 가능으로 알던 기사면 상태 변경을 놓친 것이므로 운행 중으로 바로잡아 다음 요청부터 Redis로 확인
+                                      if (statusMirror.statusOf(driver.driverId()) == DriverStatusMirror.Status.AVAILABLE) {
+                                          statusPublisher.publish(driver.driverId(), false);
+                                      }
+                                  }
+                                  case LOCKED_BY_OTHER -> { }
+                              }
+                              if (!result.isReserved()) {
+                                  log.debug("기사({}) 예약 실패: {}", driver.driverId(), result);
+                              }
+                          });
     }
 
     private Mono<Boolean> releaseLock(String driverId) {
         String lockKey = "matching_lock:" + driverId;
         return reactiveRedisTemplate.opsForValue().delete(lockKey);
     }
-
-    private Mono<Boolean> isDriverAvailable(LocationServiceClient.NearbyDriver driver) {
-        String key = "driver_status:" + driver.driverId();
-        return reactiveRedisTemplate.opsForHash().get(key, "isAvailable")
-                                    .map(value -> "1".equals(value))
-                                    .defaultIfEmpty(false);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.entity.MatchingOutbox;
+import com.example.matching_service.kafka.OutboxSavedEvent;
+import com.example.matching_service.repository.MatchingOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 매칭 요청의 Outbox 행을 모아 한 트랜잭션에서 저장한다 (group commit).
+ * ID는 시퀀스에서 allocationSize 단위로 미리 할당되므로 Hibernate가 INSERT를 JDBC 배치 한 번으로 보내고,
+ * 각 호출자의 Mono는 자신이 속한 배치가 커밋된 뒤에 완료된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "matching.journal.enabled", havingValue = "false", matchIfMissing = true)
+public class OutboxBatchWriter {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+    private final MatchingOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchingProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Scheduler blockingScheduler;
+
+    private final BlockingQueue<PendingRow> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread writer;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.outboxWriter().batchEnabled()) return;
+
+        running = true;
+        Thread.Builder builder = properties.execution().virtualThreads()
+                ? Thread.ofVirtual()
+                : Thread.ofPlatform().daemon();
+        writer = builder.name("outbox-batch-writer").start(this::writeLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) return;
+
+        running = false;
+        writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        // 종료 직전에 들어와 기록되지 못한 행은 실패로 돌려 호출자가 기사 예약을 되돌리게 함
+        List<PendingRow> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        IllegalStateException cause = new IllegalStateException("Outbox 배치 기록기가 종료되었습니다.");
+        abandoned.forEach(row -> row.committed().completeExceptionally(cause));
+    }
+
+    public Mono<Void> write(MatchingOutbox outbox) {
+        if (!properties.outboxWriter().batchEnabled()) {
+            return Mono.fromRunnable(() -> {
+                MatchingOutbox saved = outboxRepository.save(outbox);
+                // 백오프 대기 중인 릴레이를 깨워 바로 발행되도록 함
+                eventPublisher.publishEvent(new OutboxSavedEvent(saved.getId()));
+            }).subscribeOn(blockingScheduler).then();
+        }
+
+        return Mono.defer(() -> {
+            if (!running) return Mono.error(new IllegalStateException("Outbox 배치 기록기가 동작 중이 아닙니다."));
+
+            PendingRow row = new PendingRow(outbox, new CompletableFuture<>());
+            queue.add(row);
+            // 이후 처리가 기록 스레드 하나에 몰리지 않도록 완료 신호만 받고 스레드를 넘김
+            return Mono.fromFuture(row.committed()).publishOn(blockingScheduler);
+        });
+    }
+
+    private void writeLoop() {
+        MatchingProperties.OutboxWriter config = properties.outboxWriter();
+        List<PendingRow> batch = new ArrayList<>(config.maxBatchSize());
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRow first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                fillBatch(batch, config);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(row -> row.committed().completeExceptionally(e));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 첫 행 이후 linger 동안 maxBatchSize까지 모음 (이미 쌓여 있는 행은 기다리지 않고 바로 가져옴)
+    private void fillBatch(List<PendingRow> batch, MatchingProperties.OutboxWriter config) throws InterruptedException {
+        long deadline = System.nanoTime() + config.linger().toNanos();
+        while (batch.size() < config.maxBatchSize()) {
+            queue.drainTo(batch, config.maxBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= config.maxBatchSize() || remaining <= 0) return;
+
+            PendingRow next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    // 배치는 한 트랜잭션이므로 실패하면 배치 전체가 실패로 돌아감
+    private void flush(List<PendingRow> batch) {
+        List<MatchingOutbox> rows = new ArrayList<>(batch.size());
+        for (PendingRow row : batch) rows.add(row.outbox());
+
+        try {
+            transactionTemplate.execute(status -> outboxRepository.saveAll(rows));
+        } catch (Exception e) {
+            log.error("❌ [Matching-Outbox] 배치 저장 실패 ({}건). Error: {}", rows.size(), e.getMessage(), e);
+            batch.forEach(row -> row.committed().completeExceptionally(e));
+            return;
+        }
+
+        batch.forEach(row -> row.committed().complete(null));
+        eventPublisher.publishEvent(new OutboxSavedEvent(rows.get(rows.size() - 1).getId()));
+    }
+
+    private record PendingRow(MatchingOutbox outbox, CompletableFuture<Void> committed) {}
+}
@@ -0,0 +1,34 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.codec.TripMatchedEventCodec;
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.dto.kafka.TripMatchedEvent;
+import com.example.matching_service.entity.MatchingOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transactional Outbox (기본 모드): matching_outbox 테이블에 저장하고 MatchingOutboxRelay가 발행한다.
+ * 저장은 OutboxBatchWriter가 동시에 들어온 요청과 묶어 한 번에 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "matching.journal.enabled", havingValue = "false", matchIfMissing = true)
+public class OutboxMatchedEventStore implements MatchedEventStore {
+
+    private final TripMatchedEventCodec codec;
+    private final MatchingProperties properties;
+    private final OutboxBatchWriter batchWriter;
+
+    @Override
+    public Mono<Void> store(TripMatchedEvent event) {
+        return Mono.defer(() -> batchWriter.write(MatchingOutbox.builder()
+                                                                .aggregateId(event.tripId())
+                                                                .shard(MatchingOutbox.shardOf(event.tripId(), properties.outboxRelay().shardCount()))
+                                                                .topic("matching_events")
+                                                                .payload(codec.encode(event))
+                                                                .build()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.matching_service.service;
+
+import java.util.Arrays;
+
+/**
+ * reserve_driver.lua 스크립트의 반환 코드
+ */
+public enum ReservationResult {
+    RESERVED(0),        // 락 획득 + 상태 '0'으로 예약 완료
+    LOCKED_BY_OTHER(1), // 다른 매칭 요청이 이미 락 보유 중
+    UNAVAILABLE(2);     // 락은 비어 있으나 기사가 배차 불가 상태
+
+    private final long code;
+
+    ReservationResult(long code) {
+        this.code = code;
+    }
+
+    public boolean isReserved() {
+        return this == RESERVED;
+    }
+
+    public static ReservationResult fromCode(long code) {
+        return Arrays.stream(values())
+                     .filter(result -> result.code == code)
+                     .findFirst()
+                     .orElseThrow(() -> new IllegalStateException("알 수 없는 예약 결과 코드: " + code));
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.matching_service.status;
+
+import com.example.matching_service.config.MatchingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 기사 상태 토픽(compacted)을 구독해 유지하는 노드 로컬 기사 상태 테이블 (driverId -> 상태, 버전, 변경 시각).
+ * 상태/버전/시각은 슬롯 번호 기반의 primitive 배열에 저장하고, 버전은 토픽 오프셋을 그대로 사용한다.
+ * 배차 가능 표시만 Redis 조회를 건너뛰는 데 쓰며, 최종 판정은 항상 예약 스크립트가 Redis에서 원자적으로 수행한다.
+ *
+ * <pre>
+ * 스냅샷 = gzip([int magic][byte version][int 파티션 수][int partition][long 다음 오프셋]...
+ *               [int 기사 수][UTF driverId][boolean available][long version][long changedAt]...)
+ * </pre>
+ */
+@Component
+@Slf4j
+public class DriverStatusMirror {
+
+    public enum Status {
+        AVAILABLE,
+        BUSY,   // 다른 서비스가 이벤트 없이 상태를 되돌렸을 수 있으므로 후보에서 바로 빼지 않고 Redis로 확인
+        UNKNOWN // 테이블에 없거나 따라잡기 전 -> Redis로 확인
+    }
+
+    private static final int SNAPSHOT_MAGIC = 0x44534d31; // "DSM1"
+    private static final byte SNAPSHOT_VERSION = 1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final MatchingProperties.StatusMirror config;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> slotByDriver = new HashMap<>();
+    private final Map<Integer, Long> nextOffsets = new HashMap<>(); // 파티션별로 반영을 마친 다음 오프셋
+
+    private String[] driverIds = new String[INITIAL_CAPACITY];
+    private boolean[] available = new boolean[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private long[] changedAt = new long[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int nextSlot;
+
+    private volatile boolean caughtUp;
+
+    public DriverStatusMirror(MatchingProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.statusMirror();
+
+        Gauge.builder("matching.driver.status.mirror.size", this, DriverStatusMirror::size)
+             .description("로컬 기사 상태 테이블에 등록된 기사 수")
+             .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    /**
+     * 스냅샷 이후(또는 처음부터) 토픽 끝까지 따라잡은 뒤에만 테이블 결과를 신뢰한다.
+     */
+    public boolean isReady() {
+        return config.enabled() && caughtUp;
+    }
+
+    public void markCaughtUp() {
+        if (!caughtUp) {
+            caughtUp = true;
+            log.info("기사 상태 미러 준비 완료 ({}명)", size());
+        }
+    }
+
+    public Status statusOf(String driverId) {
+        if (!isReady()) return Status.UNKNOWN;
+
+        lock.readLock().lock();
+        try {
+            Integer slot = slotByDriver.get(driverId);
+            if (slot == null) return Status.UNKNOWN;
+            return available[slot] ? Status.AVAILABLE : Status.BUSY;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 토픽 레코드 하나를 반영한다. 스냅샷에 이미 포함된 오프셋은 건너뛴다. (status == null이면 tombstone)
+     */
+    public void apply(int partition, long offset, String driverId, Boolean status, long timestamp) {
+        lock.writeLock().lock();
+        try {
+            if (offset < nextOffsets.getOrDefault(partition, 0L)) return;
+            nextOffsets.put(partition, offset + 1);
+
+            Integer slot = slotByDriver.get(driverId);
+            if (status == null) {
+                if (slot != null) {
+                    slotByDriver.remove(driverId);
+                    releaseSlot(slot);
+                }
+                return;
+            }
+            if (slot == null) {
+                slot = allocateSlot();
+                slotByDriver.put(driverId, slot);
+                driverIds[slot] = driverId;
+            }
+            available[slot] = status;
+            versions[slot] = offset;
+            changedAt[slot] = timestamp;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 스냅샷이나 이전 반영으로 알고 있는 파티션의 다음 오프셋. 모르면 -1 (처음부터 재생)
+     */
+    public long nextOffset(int partition) {
+        lock.readLock().lock();
+        try {
+            return nextOffsets.getOrDefault(partition, -1L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByDriver.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public byte[] snapshot() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeByte(SNAPSHOT_VERSION);
+            out.writeInt(nextOffsets.size());
+            for (Map.Entry<Integer, Long> entry : nextOffsets.entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+            out.writeInt(slotByDriver.size());
+            for (int slot : slotByDriver.values()) {
+                out.writeUTF(driverIds[slot]);
+                out.writeBoolean(available[slot]);
+                out.writeLong(versions[slot]);
+                out.writeLong(changedAt[slot]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 스냅샷으로 테이블과 파티션별 오프셋을 통째로 교체한다. 토픽 구독을 시작하기 전에만 호출한다.
+     */
+    public void restore(byte[] snapshot) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(snapshot)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readByte() != SNAPSHOT_VERSION) {
+                throw new IllegalArgumentException("알 수 없는 기사 상태 스냅샷 포맷입니다");
+            }
+            Map<Integer, Long> offsets = new HashMap<>();
+            int partitions = in.readInt();
+            for (int i = 0; i < partitions; i++) {
+                offsets.put(in.readInt(), in.readLong());
+            }
+
+            int count = in.readInt();
+            lock.writeLock().lock();
+            try {
+                clear();
+                nextOffsets.putAll(offsets);
+                for (int i = 0; i < count; i++) {
+                    String driverId = in.readUTF();
+                    int slot = allocateSlot();
+                    slotByDriver.put(driverId, slot);
+                    driverIds[slot] = driverId;
+                    available[slot] = in.readBoolean();
+                    versions[slot] = in.readLong();
+                    changedAt[slot] = in.readLong();
+                }
+            } catch (IOException e) {
+                clear(); // 일부만 읽힌 스냅샷은 버리고 처음부터 재생
+                throw e;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void clear() {
+        slotByDriver.clear();
+        nextOffsets.clear();
+        Arrays.fill(driverIds, null);
+        freeCount = 0;
+        nextSlot = 0;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+
+        if (nextSlot == driverIds.length) {
+            int capacity = driverIds.length * 2;
+            driverIds = Arrays.copyOf(driverIds, capacity);
+            available = Arrays.copyOf(available, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            changedAt = Arrays.copyOf(changedAt, capacity);
+        }
+        return nextSlot++;
+    }
+
+    private void releaseSlot(int slot) {
+        driverIds[slot] = null;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.matching_service.status;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 기사 상태 미러의 스냅샷(테이블 + 파티션별 오프셋)을 Redis에 주기적으로 저장하고, 새 인스턴스는 기동 시 복원한다.
+ * 복원한 뒤에는 스냅샷 이후의 레코드만 재생하면 되므로 토픽 전체를 재생하지 않고 수 초 안에 준비된다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "matching.status-mirror.enabled", havingValue = "true")
+public class DriverStatusSnapshotStore {
+
+    static final String SNAPSHOT_KEY = "driver_status_mirror:snapshot";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final DriverStatusMirror statusMirror;
+
+    // 따라잡은 인스턴스 중 한 곳만 저장 (저장 주기만큼이 새 인스턴스가 재생할 분량)
+    @Scheduled(fixedDelay = 60000)
+    @SchedulerLock(name = "DriverStatusSnapshotStore_save", lockAtLeastFor = "PT30S", lockAtMostFor = "PT50S")
+    public void save() {
+        if (!statusMirror.isReady()) return;
+
+        try {
+            byte[] snapshot = statusMirror.snapshot();
+            redisTemplate.opsForValue()
+                         .set(SNAPSHOT_KEY, Base64.getEncoder().encodeToString(snapshot))
+                         .block(TIMEOUT);
+            log.info("기사 상태 스냅샷 저장 ({}명, {}KB)", statusMirror.size(), snapshot.length / 1024);
+        } catch (Exception e) {
+            log.warn("기사 상태 스냅샷 저장 실패. Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 스냅샷이 없거나 읽을 수 없으면 토픽 처음부터 재생한다.
+     */
+    public void restore() {
+        try {
+            String encoded = redisTemplate.opsForValue().get(SNAPSHOT_KEY).block(TIMEOUT);
+            if (encoded == null) {
+                log.info("기사 상태 스냅샷 없음. 토픽 처음부터 재생합니다.");
+                return;
+            }
+            statusMirror.restore(Base64.getDecoder().decode(encoded));
+            log.info("기사 상태 스냅샷 복원 ({}명)", statusMirror.size());
+        } catch (Exception e) {
+            log.warn("기사 상태 스냅샷 복원 실패. 토픽 처음부터 재생합니다. Error: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+-- matching_outbox ID를 IDENTITY에서 시퀀스(matching_outbox_seq, allocationSize 100)로 바꾸면서 필요한 MySQL 마이그레이션
+-- MySQL에는 시퀀스가 없어 Hibernate가 next_val 컬럼 하나짜리 테이블로 대체한다.
+-- 기존 matching_outbox 테이블이 있는 DB에서, 시퀀스를 쓰는 버전을 배포하기 전에 한 번 실행한다. (새 DB는 ddl-auto가 만들므로 불필요)
+-- 여러 번 실행해도 값이 줄어들지 않는다.
+
+-- 롤링 배포 중에는 이전 버전 인스턴스가 계속 AUTO_INCREMENT로 ID를 쓰므로, 그만큼 여유를 두고 시작한다.
+-- pooled optimizer는 읽은 값보다 최대 allocationSize만큼 작은 ID도 내줄 수 있으므로 여유에 allocationSize(100)를 더한다.
+SET @rollout_headroom = 1000000;
+SET @allocation_size = 100;
+
+CREATE TABLE IF NOT EXISTS matching_outbox_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+-- ddl-auto가 먼저 테이블을 만들었다면 next_val = 1인 행이 이미 있으므로, 기존 값과 비교해 큰 값 하나만 남긴다.
+SET @seed = (SELECT COALESCE(MAX(id), 0) + @rollout_headroom + @allocation_size + 1 FROM matching_outbox);
+SET @current = (SELECT COALESCE(MAX(next_val), 0) FROM matching_outbox_seq);
+
+DELETE FROM matching_outbox_seq;
+INSERT INTO matching_outbox_seq (next_val) VALUES (GREATEST(@seed, @current));
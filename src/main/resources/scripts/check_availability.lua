@@ -0,0 +1,12 @@
+-- 후보 기사들의 배차 가능 여부를 한 번의 왕복으로 조회
+-- KEYS: driver_status:{driverId} 목록 (거리순)
+-- 반환값: KEYS 순서대로 '1'(가능) / '0'(불가 또는 상태 없음)을 이어붙인 문자열
+local flags = {}
+for i, key in ipairs(KEYS) do
+    if redis.call('HGET', key, 'isAvailable') == '1' then
+        flags[i] = '1'
+    else
+        flags[i] = '0'
+    end
+end
+return table.concat(flags)
@@ -0,0 +1,22 @@
+-- 기사 상태를 한 번의 왕복으로 조회해 오래 운행 중('0')인지 표시하고, 운행 중 기사 ZSET을 상태와 맞춤
+-- KEYS[1]: busy_drivers (운행 중 기사 ZSET, score = 운행 시작 epoch seconds)
+-- KEYS[2..]: driver_status:{driverId} 목록
+-- ARGV[1]: cutoff (epoch seconds). ZSET score가 이 값 이하인 기사만 운행 중으로 표시
+-- ARGV[2..]: KEYS[2..]와 같은 순서의 driverId
+-- 반환값: KEYS[2..] 순서대로 '1'(cutoff 이전부터 운행 중) / '0'(최근 배차, 대기 중 또는 상태가 사라짐)을 이어붙인 문자열
+local flags = {}
+local now = redis.call('TIME')[1]
+local cutoff = tonumber(ARGV[1])
+for i = 2, #KEYS do
+    local driverId = ARGV[i]
+    if redis.call('HGET', KEYS[i], 'isAvailable') == '0' then
+        -- 인덱스 도입 이전에 예약됐거나 누락된 기사는 지금 시각으로 등록 (이미 있으면 유지)
+        redis.call('ZADD', KEYS[1], 'NX', now, driverId)
+        local since = tonumber(redis.call('ZSCORE', KEYS[1], driverId))
+        flags[i - 1] = since <= cutoff and '1' or '0'
+    else
+        flags[i - 1] = '0'
+        redis.call('ZREM', KEYS[1], driverId)
+    end
+end
+return table.concat(flags)
@@ -0,0 +1,12 @@
+-- 여러 기사의 상태를 한 번의 왕복으로 '대기 중'으로 복구하고 변경을 전파
+-- KEYS[1]: busy_drivers (운행 중 기사 ZSET)
+-- KEYS[2..]: driver_status:{driverId} 목록
+-- ARGV[1]: 상태 변경 Pub/Sub 채널
+-- ARGV[2..]: KEYS[2..]와 같은 순서의 driverId
+-- 반환값: 복구한 기사 수
+for i = 2, #KEYS do
+    redis.call('HSET', KEYS[i], 'isAvailable', '1')
+    redis.call('ZREM', KEYS[1], ARGV[i])
+    redis.call('PUBLISH', ARGV[1], ARGV[i] .. ':1')
+end
+return #KEYS - 1
@@ -0,0 +1,24 @@
+-- 기사 락 획득 + 배차 가능 여부 확인 + 배차 예약을 원자적으로 처리
+-- KEYS[1]: matching_lock:{driverId}
+-- KEYS[2]: driver_status:{driverId}
+-- KEYS[3]: busy_drivers (운행 중 기사 ZSET, score = 예약 시각 epoch 초)
+-- ARGV[1]: 락 TTL (초)
+-- ARGV[2]: 상태 변경 Pub/Sub 채널
+-- ARGV[3]: driverId
+-- 반환값: 0 = 예약 성공, 1 = 다른 요청이 락 보유 중, 2 = 배차 불가 상태
+
+if not redis.call('SET', KEYS[1], 'LOCKED', 'NX', 'EX', ARGV[1]) then
+    return 1
+end
+
+if redis.call('HGET', KEYS[2], 'isAvailable') ~= '1' then
+    -- 락은 잡았지만 상태가 '1'이 아니면 락을 다시 풀어주고 탈락 처리
+    redis.call('DEL', KEYS[1])
+    return 2
+end
+
+redis.call('HSET', KEYS[2], 'isAvailable', '0')
+-- 노드 간 시계 차이가 없도록 Redis 서버 시각을 사용
+redis.call('ZADD', KEYS[3], redis.call('TIME')[1], ARGV[3])
+redis.call('PUBLISH', ARGV[2], ARGV[3] .. ':0')
+return 0
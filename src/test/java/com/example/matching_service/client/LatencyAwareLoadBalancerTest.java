@@ -0,0 +1,71 @@
+package com.example.matching_service.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LatencyAwareLoadBalancerTest {
+
+    private InstanceLatencyTracker latencyTracker;
+    private LatencyAwareLoadBalancer loadBalancer;
+
+    private final ServiceInstance slow = instance("geo-1", "10.0.0.1");
+    private final ServiceInstance fast = instance("geo-2", "10.0.0.2");
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        latencyTracker = new InstanceLatencyTracker();
+        loadBalancer = new LatencyAwareLoadBalancer(mock(ObjectProvider.class), "geospatial-service", latencyTracker);
+    }
+
+    private static ServiceInstance instance(String instanceId, String host) {
+        return new DefaultServiceInstance(instanceId, "geospatial-service", host, 8080, false);
+    }
+
+    private void recordLatency(ServiceInstance instance, long millis) {
+        latencyTracker.record(InstanceLatencyTracker.key(instance.getHost(), instance.getPort(), instance.isSecure()),
+                TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("최근 지연이 짧은 인스턴스를 선택한다 (GC로 멈춘 인스턴스 회피)")
+    void choose_PrefersLowLatencyInstance() {
+        // given
+        recordLatency(slow, 900);
+        recordLatency(fast, 15);
+
+        // when & then
+        for (int i = 0; i < 20; i++) {
+            assertThat(loadBalancer.choose(List.of(slow, fast)).getServer()).isEqualTo(fast);
+        }
+    }
+
+    @Test
+    @DisplayName("측정값이 없는 인스턴스는 비용 0으로 먼저 시도된다 (새 인스턴스 탐색)")
+    void choose_ProbesInstanceWithoutSamples() {
+        // given
+        recordLatency(fast, 15);
+        ServiceInstance unseen = instance("geo-3", "10.0.0.3");
+
+        // when & then
+        for (int i = 0; i < 20; i++) {
+            assertThat(loadBalancer.choose(List.of(fast, unseen)).getServer()).isEqualTo(unseen);
+        }
+    }
+
+    @Test
+    @DisplayName("인스턴스가 없으면 빈 응답을 돌려준다")
+    void choose_ReturnsEmptyWhenNoInstance() {
+        assertThat(loadBalancer.choose(List.<ServiceInstance>of()).hasServer()).isFalse();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.matching_service.client;
+
+import com.example.matching_service.client.LocationServiceClient.NearbyDriver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearbyDriverDecoderTest {
+
+    // 버퍼 경계가 토큰 중간에 걸리도록 작은 조각으로 나눔
+    private static Flux<DataBuffer> chunked(String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<byte[]> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            byte[] chunk = new byte[Math.min(chunkSize, bytes.length - i)];
+            System.arraycopy(bytes, i, chunk, 0, chunk.length);
+            chunks.add(chunk);
+        }
+        return Flux.fromIterable(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    @Test
+    @DisplayName("JSON 배열을 버퍼 경계와 무관하게 기사 단위로 파싱하고, 모르는 필드는 건너뛰며 거리가 없으면 NaN")
+    void decode_StreamsJsonArray() {
+        // given
+        String json = """
+                [{"driverId":"driver-A","distance":0.3,"meta":{"tags":[{"driverId":"ignored"}]}},
+                 {"driverId":"driver-B","distance":null},
+                 {"distance":1.2}]""";
+
+        // when & then
+        StepVerifier.create(NearbyDriverDecoder.decode(chunked(json, 3)))
+                    .expectNext(new NearbyDriver("driver-A", 0.3))
+                    .assertNext(driver -> {
+                        assertThat(driver.driverId()).isEqualTo("driver-B");
+                        assertThat(driver.distance()).isNaN();
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("NDJSON 응답도 같은 방식으로 파싱하고, 항목 중간에 끝나면 에러를 낸다")
+    void decode_StreamsNdjsonAndRejectsTruncatedBody() {
+        StepVerifier.create(NearbyDriverDecoder.decode(chunked("{\"driverId\":\"driver-A\",\"distance\":1}\n{\"driverId\":\"driver-B\",\"distance\":2.5}\n", 7)))
+                    .expectNext(new NearbyDriver("driver-A", 1.0), new NearbyDriver("driver-B", 2.5))
+                    .verifyComplete();
+
+        StepVerifier.create(NearbyDriverDecoder.decode(chunked("[{\"driverId\":\"driver-A\",\"distance\":1},{\"driverId\":\"dri", 7)))
+                    .expectNext(new NearbyDriver("driver-A", 1.0))
+                    .verifyError(DecodingException.class);
+    }
+
+    @Test
+    @DisplayName("첫 기사만 받고 취소하면 나머지 응답 버퍼는 요청하지 않는다 (예약 성공 후 조기 종료)")
+    void decode_StopsReadingAfterCancel() {
+        // given
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"driverId\":\"driver-").append(i).append("\",\"distance\":").append(i * 0.001).append('}');
+        }
+        String body = json.append(']').toString();
+        AtomicInteger buffersRead = new AtomicInteger();
+
+        // when
+        NearbyDriver first = NearbyDriverDecoder.decode(chunked(body, 64).doOnNext(buffer -> buffersRead.incrementAndGet()))
+                                                .next()
+                                                .block();
+
+        // then
+        assertThat(first).isEqualTo(new NearbyDriver("driver-0", 0.0));
+        assertThat(buffersRead.get()).isLessThanOrEqualTo(2);
+    }
+}
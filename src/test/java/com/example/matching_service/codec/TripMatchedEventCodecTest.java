@@ -0,0 +1,78 @@
+package com.example.matching_service.codec;
+
+import com.example.matching_service.dto.MatchRequest;
+import com.example.matching_service.dto.kafka.TripMatchedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TripMatchedEventCodecTest {
+
+    private final JsonTripMatchedEventCodec jsonCodec = new JsonTripMatchedEventCodec(
+            new ObjectMapper().registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    private final BinaryTripMatchedEventCodec binaryCodec = new BinaryTripMatchedEventCodec();
+
+    private TripMatchedEvent event() {
+        return new TripMatchedEvent(
+                UUID.randomUUID().toString(), "user-42", "기사-7",
+                new MatchRequest.Location(127.027610, 37.497942),
+                new MatchRequest.Location(126.978388, 37.566610),
+                LocalDateTime.of(2026, 10, 17, 9, 30, 15, 123_456_789));
+    }
+
+    @Test
+    @DisplayName("바이너리 포맷은 모든 필드를 그대로 복원하고 JSON보다 작다")
+    void binaryRoundTripIsSmallerThanJson() {
+        // given
+        TripMatchedEvent event = event();
+
+        // when
+        byte[] binary = binaryCodec.encode(event);
+        byte[] json = jsonCodec.encode(event);
+
+        // then
+        assertThat(binaryCodec.decode(binary)).isEqualTo(event);
+        assertThat(jsonCodec.decode(json)).isEqualTo(event);
+        assertThat(binary.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    @DisplayName("null 필드와 UUID가 아닌 문자열(대문자 UUID 포함)도 원래 값으로 복원된다")
+    void binaryRoundTripPreservesNullsAndNonCanonicalStrings() {
+        // given
+        TripMatchedEvent event = new TripMatchedEvent(
+                UUID.randomUUID().toString().toUpperCase(), null, "",
+                null, new MatchRequest.Location(-0.5, -80.25), null);
+
+        // when
+        TripMatchedEvent decoded = binaryCodec.decode(binaryCodec.encode(event));
+
+        // then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("저장된 바이트만으로 포맷을 구분하고, 모르는 버전은 거부한다")
+    void detectFormatAndRejectUnknownVersion() {
+        // given
+        byte[] binary = binaryCodec.encode(event());
+        byte[] json = jsonCodec.encode(event());
+
+        // then
+        assertThat(EventFormat.detect(binary)).isEqualTo(EventFormat.BINARY);
+        assertThat(EventFormat.detect(json)).isEqualTo(EventFormat.JSON);
+
+        binary[1] = 99;
+        assertThatThrownBy(() -> binaryCodec.decode(binary))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+}
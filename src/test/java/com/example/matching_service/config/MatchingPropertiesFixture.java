@@ -0,0 +1,25 @@
+package com.example.matching_service.config;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+/**
+ * application.yml 없이 @DefaultValue 기본값 + 필요한 설정만 덮어쓴 MatchingProperties를 만든다.
+ */
+public final class MatchingPropertiesFixture {
+
+    private MatchingPropertiesFixture() {
+    }
+
+    public static MatchingProperties defaults() {
+        return with(Map.of());
+    }
+
+    // key 예: "matching.search.strategy"
+    public static MatchingProperties with(Map<String, String> overrides) {
+        return new Binder(new MapConfigurationPropertySource(overrides))
+                .bindOrCreate("matching", MatchingProperties.class);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.matching_service.config;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchingPropertiesTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    @DisplayName("기본 설정은 순차 검색이며 검증을 통과하고, 반경 단계가 오름차순이 아니거나 0 이하면 거부한다")
+    void search_ValidatesRadii() {
+        // given
+        MatchingProperties defaults = MatchingPropertiesFixture.defaults();
+        MatchingProperties descending = MatchingPropertiesFixture.with(Map.of("matching.search.radii-km", "3,2,1"));
+        MatchingProperties nonPositive = MatchingPropertiesFixture.with(Map.of("matching.search.radii-km", "0,2"));
+
+        // when & then
+        assertThat(defaults.search().strategy()).isEqualTo(MatchingProperties.SearchStrategy.SEQUENTIAL);
+        assertThat(validator.validate(defaults)).isEmpty();
+        assertThat(validator.validate(descending)).extracting(ConstraintViolation::getPropertyPath)
+                                                  .extracting(Object::toString)
+                                                  .containsExactly("search.radiiAscending");
+        assertThat(validator.validate(nonPositive)).isNotEmpty();
+    }
+}
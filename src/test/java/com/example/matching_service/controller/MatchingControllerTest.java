@@ -2,6 +2,12 @@ package com.example.matching_service.controller;
 
 import com.example.matching_service.dto.MatchRequest;
 import com.example.matching_service.dto.MatchResponse;
+import com.example.matching_service.dto.MatchStatus;
+import com.example.matching_service.dto.MatchStatusResponse;
+import com.example.matching_service.service.AdaptiveConcurrencyLimiter;
+import com.example.matching_service.service.AsyncMatchDispatcher;
+import com.example.matching_service.service.MatchIdempotencyGuard;
+import com.example.matching_service.service.MatchPriority;
 import com.example.matching_service.service.MatchingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -14,10 +20,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +44,15 @@ class MatchingControllerTest {
     @MockitoBean
     private MatchingService matchingService;
 
+    @MockitoBean
+    private AsyncMatchDispatcher asyncMatchDispatcher;
+
+    @MockitoBean
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @MockitoBean
+    private MatchIdempotencyGuard idempotencyGuard;
+
     @Test
     @DisplayName("매칭 성공 시 200 OK와 결과를 반환한다 (Mono 비동기 처리)")
     void requestMatch_Success() throws Exception {
@@ -89,4 +109,111 @@ class MatchingControllerTest {
             // 예외가 컨트롤러 밖으로 던져짐을 확인
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("동시 실행 한도를 넘으면 매칭을 시작하지 않고 503과 Retry-After를 반환한다")
+    void requestMatch_RejectedOverLimit() throws Exception {
+        // Given
+        MatchRequest request = new MatchRequest(
+                new MatchRequest.Location(127.123, 37.123),
+                new MatchRequest.Location(127.456, 37.456)
+        );
+        given(concurrencyLimiter.isEnabled()).willReturn(true);
+        given(concurrencyLimiter.tryAcquire(MatchPriority.LOW)).willReturn(Optional.empty());
+        given(concurrencyLimiter.retryAfterSeconds()).willReturn(1L);
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(post("/api/matches")
+                                             .header("X-User-Id", "user-1")
+                                             .header("X-Match-Priority", "low")
+                                             .contentType(MediaType.APPLICATION_JSON)
+                                             .content(objectMapper.writeValueAsString(request)))
+                                     .andExpect(request().asyncStarted())
+                                     .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+               .andExpect(status().isServiceUnavailable())
+               .andExpect(header().string("Retry-After", "1"));
+        verify(matchingService, never()).requestMatch(any(), any());
+    }
+
+    @Test
+    @DisplayName("비동기 모드에서는 매칭을 기다리지 않고 202와 matchRequestId, 결과 조회 위치를 반환한다")
+    void requestMatch_AsyncAccepted() throws Exception {
+        // Given
+        MatchRequest request = new MatchRequest(
+                new MatchRequest.Location(127.123, 37.123),
+                new MatchRequest.Location(127.456, 37.456)
+        );
+        given(asyncMatchDispatcher.isEnabled()).willReturn(true);
+        given(asyncMatchDispatcher.submit(eq("user-1"), any(MatchRequest.class))).willReturn(Optional.of("req-uuid-002"));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(post("/api/matches")
+                                             .header("X-User-Id", "user-1")
+                                             .contentType(MediaType.APPLICATION_JSON)
+                                             .content(objectMapper.writeValueAsString(request)))
+                                     .andExpect(request().asyncStarted())
+                                     .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+               .andExpect(status().isAccepted())
+               .andExpect(header().string("Location", "/api/matches/req-uuid-002/events"))
+               .andExpect(jsonPath("$.matchRequestId").value("req-uuid-002"));
+    }
+
+    @Test
+    @DisplayName("비동기 모드 대기열이 가득 차면 접수 단계에서 503을 반환한다")
+    void requestMatch_AsyncQueueFull() throws Exception {
+        // Given
+        MatchRequest request = new MatchRequest(
+                new MatchRequest.Location(127.123, 37.123),
+                new MatchRequest.Location(127.456, 37.456)
+        );
+        given(asyncMatchDispatcher.isEnabled()).willReturn(true);
+        given(asyncMatchDispatcher.submit(any(), any())).willReturn(Optional.empty());
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(post("/api/matches")
+                                             .header("X-User-Id", "user-1")
+                                             .contentType(MediaType.APPLICATION_JSON)
+                                             .content(objectMapper.writeValueAsString(request)))
+                                     .andExpect(request().asyncStarted())
+                                     .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+               .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("결과 조회(long-poll)는 매칭 결과를 반환하고, 다른 사용자의 요청이나 만료된 요청은 404를 반환한다")
+    void pollResult() throws Exception {
+        // Given
+        given(asyncMatchDispatcher.awaitResult("req-uuid-003", "user-1"))
+                .willReturn(Optional.of(Mono.just(new MatchStatusResponse("req-uuid-003", MatchStatus.MATCHED, "매칭 성공!"))));
+        given(asyncMatchDispatcher.awaitResult("req-uuid-003", "user-2")).willReturn(Optional.empty());
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/api/matches/req-uuid-003/events")
+                                             .header("X-User-Id", "user-1")
+                                             .accept(MediaType.APPLICATION_JSON))
+                                     .andExpect(request().asyncStarted())
+                                     .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.status").value("MATCHED"));
+
+        MvcResult notFound = mockMvc.perform(get("/api/matches/req-uuid-003/events")
+                                            .header("X-User-Id", "user-2")
+                                            .accept(MediaType.APPLICATION_JSON))
+                                    .andExpect(request().asyncStarted())
+                                    .andReturn();
+        mockMvc.perform(asyncDispatch(notFound))
+               .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.matching_service.geo;
+
+import com.example.matching_service.client.LocationServiceClient.NearbyDriver;
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DriverGeoIndexTest {
+
+    private DriverGeoIndex geoIndex;
+
+    @BeforeEach
+    void setUp() {
+        MatchingProperties properties = MatchingPropertiesFixture.with(Map.of("matching.geo-index.enabled", "true"));
+        geoIndex = new DriverGeoIndex(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("반경 내 기사를 가까운 순서로 최대 k명 반환하고 반경 밖 기사는 제외한다")
+    void findNearest_ReturnsClosestWithinRadius() {
+        // given (위도 0.009도 ≈ 1km)
+        geoIndex.update("driver-far", 127.0, 37.527);   // 약 3km
+        geoIndex.update("driver-mid", 127.0, 37.509);   // 약 1km
+        geoIndex.update("driver-near", 127.0, 37.5045); // 약 0.5km
+        geoIndex.update("driver-here", 127.0, 37.5);
+
+        // when
+        List<NearbyDriver> result = geoIndex.findNearest(127.0, 37.5, 2, 2);
+
+        // then
+        assertThat(result).extracting(NearbyDriver::driverId).containsExactly("driver-here", "driver-near");
+        assertThat(result.get(1).distance()).isBetween(0.45, 0.55);
+    }
+
+    @Test
+    @DisplayName("기사가 다른 셀로 이동하면 이전 위치에서는 더 이상 검색되지 않는다")
+    void update_MovesDriverBetweenCells() {
+        // given
+        geoIndex.update("driver-A", 127.0, 37.5);
+
+        // when
+        geoIndex.update("driver-A", 127.1, 37.6);
+
+        // then
+        assertThat(geoIndex.findNearest(127.0, 37.5, 1, 10)).isEmpty();
+        assertThat(geoIndex.findNearest(127.1, 37.6, 1, 10)).extracting(NearbyDriver::driverId).containsExactly("driver-A");
+        assertThat(geoIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("제거된 기사의 슬롯은 재사용되며 검색 결과에서 빠진다")
+    void remove_ReusesSlot() {
+        // given
+        geoIndex.update("driver-A", 127.0, 37.5);
+        geoIndex.remove("driver-A");
+
+        // when
+        geoIndex.update("driver-B", 127.0, 37.5001);
+
+        // then
+        assertThat(geoIndex.findNearest(127.0, 37.5, 1, 10)).extracting(NearbyDriver::driverId).containsExactly("driver-B");
+        assertThat(geoIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("첫 업데이트 후 maxLocationAge만큼 워밍업되기 전에는 준비되지 않은 것으로 본다")
+    void isReady_WaitsForWarmUp() throws InterruptedException {
+        // given
+        MatchingProperties properties = MatchingPropertiesFixture.with(Map.of(
+                "matching.geo-index.enabled", "true",
+                "matching.geo-index.max-location-age", "200ms"));
+        DriverGeoIndex warmingIndex = new DriverGeoIndex(properties, new SimpleMeterRegistry());
+
+        // when
+        warmingIndex.update("driver-A", 127.0, 37.5);
+        boolean readyRightAfterFirstUpdate = warmingIndex.isReady();
+        Thread.sleep(250);
+        warmingIndex.update("driver-B", 127.0, 37.5001);
+
+        // then
+        assertThat(readyRightAfterFirstUpdate).isFalse();
+        assertThat(warmingIndex.isReady()).isTrue();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.matching_service.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class EventJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("flush된 레코드만 순서대로 읽힌다")
+    void readFlushedRecordsInOrder() throws IOException {
+        try (EventJournal journal = EventJournal.open(directory, SEGMENT_SIZE)) {
+            // given
+            journal.append("matching_events", "trip-1", bytes("{\"driverId\":\"기사-A\"}"));
+            journal.append("matching_events", "trip-2", bytes("{\"driverId\":\"driver-B\"}"));
+            assertThat(journal.readFrom(1, 10)).isEmpty();
+
+            // when
+            long flushed = journal.flush();
+            List<JournalRecord> records = journal.readFrom(1, 10);
+
+            // then
+            assertThat(flushed).isEqualTo(2);
+            assertThat(records).extracting(JournalRecord::sequence, JournalRecord::topic, JournalRecord::key, record -> string(record.value()))
+                               .containsExactly(
+                                       tuple(1L, "matching_events", "trip-1", "{\"driverId\":\"기사-A\"}"),
+                                       tuple(2L, "matching_events", "trip-2", "{\"driverId\":\"driver-B\"}"));
+        }
+    }
+
+    @Test
+    @DisplayName("재시작하면 ack되지 않은 레코드부터 다시 읽고 시퀀스를 이어간다")
+    void recoverUnacknowledgedRecords() throws IOException {
+        // given
+        try (EventJournal journal = EventJournal.open(directory, SEGMENT_SIZE)) {
+            journal.append("matching_events", "trip-1", bytes("a"));
+            journal.append("matching_events", "trip-2", bytes("b"));
+            journal.append("matching_events", "trip-3", bytes("c"));
+            journal.flush();
+            journal.acknowledge(1);
+        }
+
+        // when
+        try (EventJournal journal = EventJournal.open(directory, SEGMENT_SIZE)) {
+            List<JournalRecord> replay = journal.readFrom(journal.ackedSequence() + 1, 10);
+            long next = journal.append("matching_events", "trip-4", bytes("d"));
+
+            // then
+            assertThat(journal.ackedSequence()).isEqualTo(1);
+            assertThat(replay).extracting(JournalRecord::key).containsExactly("trip-2", "trip-3");
+            assertThat(next).isEqualTo(4);
+        }
+    }
+
+    @Test
+    @DisplayName("일부만 기록된 마지막 레코드는 복구 시 잘라낸다")
+    void truncateTornRecord() throws IOException {
+        // given
+        try (EventJournal journal = EventJournal.open(directory, SEGMENT_SIZE)) {
+            journal.append("matching_events", "trip-1", bytes("a"));
+            journal.append("matching_events", "trip-2", bytes("b"));
+            journal.flush();
+        }
+        Path segment = segmentFiles().get(0);
+        int firstRecordSize = EventJournal.HEADER_SIZE + EventJournal.encodeBody(1, "matching_events", "trip-1", bytes("a")).length;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // 두 번째 레코드 body 마지막 바이트 손상 (쓰다 만 상태)
+            int secondBodyLength = EventJournal.encodeBody(2, "matching_events", "trip-2", bytes("b")).length;
+            file.seek(firstRecordSize + EventJournal.HEADER_SIZE + secondBodyLength - 1);
+            file.write(0x7F);
+        }
+
+        // when
+        try (EventJournal journal = EventJournal.open(directory, SEGMENT_SIZE)) {
+            List<JournalRecord> records = journal.readFrom(1, 10);
+            long next = journal.append("matching_events", "trip-2", bytes("b2"));
+            journal.flush();
+
+            // then
+            assertThat(records).extracting(JournalRecord::key).containsExactly("trip-1");
+            assertThat(next).isEqualTo(2);
+            assertThat(journal.readFrom(2, 10)).extracting(record -> string(record.value())).containsExactly("b2");
+        }
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 교체되고, 전부 ack된 세그먼트는 삭제된다")
+    void rollAndDeleteAcknowledgedSegments() throws IOException {
+        try (EventJournal journal = EventJournal.open(directory, SEGMENT_SIZE)) {
+            // given
+            String payload = "x".repeat(1000);
+            for (int i = 1; i <= 10; i++) {
+                journal.append("matching_events", "trip-" + i, bytes(payload));
+            }
+            journal.flush();
+            assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+            // when
+            List<JournalRecord> records = journal.readFrom(1, 100);
+            journal.acknowledge(10);
+
+            // then
+            assertThat(records).extracting(JournalRecord::sequence)
+                               .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+            assertThat(segmentFiles()).hasSize(1); // 쓰기 중인 세그먼트만 남음
+        }
+    }
+
+    @Test
+    @DisplayName("flush에 실패한 구간을 잘라내면 이후 flush나 재시작 후에도 읽히지 않는다")
+    void discardUnflushedRecords() throws IOException {
+        try (EventJournal journal = EventJournal.open(directory, SEGMENT_SIZE)) {
+            // given
+            journal.append("matching_events", "trip-1", bytes("a"));
+            journal.flush();
+            String payload = "x".repeat(1000);
+            for (int i = 2; i <= 7; i++) {
+                journal.append("matching_events", "trip-" + i, bytes(payload)); // fsync 실패로 버려질 레코드 (세그먼트 교체 포함)
+            }
+
+            // when
+            long discarded = journal.discardUnflushed();
+            long next = journal.append("matching_events", "trip-8", bytes("b"));
+            journal.flush();
+
+            // then
+            assertThat(discarded).isEqualTo(6);
+            assertThat(next).isEqualTo(2);
+            assertThat(segmentFiles()).hasSize(1);
+            assertThat(journal.readFrom(1, 10)).extracting(JournalRecord::key).containsExactly("trip-1", "trip-8");
+        }
+
+        try (EventJournal journal = EventJournal.open(directory, SEGMENT_SIZE)) {
+            assertThat(journal.readFrom(1, 10)).extracting(JournalRecord::key).containsExactly("trip-1", "trip-8");
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("journal-")).sorted().toList();
+        }
+    }
+}
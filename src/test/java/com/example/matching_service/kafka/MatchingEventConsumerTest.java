@@ -0,0 +1,94 @@
+package com.example.matching_service.kafka;
+
+import com.example.matching_service.kafka.dto.TripCanceledEvent;
+import com.example.matching_service.kafka.dto.TripCompletedEvent;
+import com.example.matching_service.service.MatchingService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingEventConsumerTest {
+
+    @InjectMocks private MatchingEventConsumer consumer;
+
+    @Mock private MatchingService matchingService;
+
+    private ConsumerRecord<String, Object> record(long offset, Object value) {
+        return new ConsumerRecord<>("trip_events", 0, offset, "trip-" + offset, value);
+    }
+
+    @Test
+    @DisplayName("poll 배치의 종료/취소 이벤트 기사를 한 번에 복구하고, 관심 없는 이벤트는 건너뛴다")
+    void handleTripEvents_ReleasesWholeBatchAtOnce() {
+        // given
+        given(matchingService.releaseDrivers(List.of("driver-A", "driver-B"))).willReturn(Mono.just(2L));
+
+        // when
+        consumer.handleTripEvents(List.of(
+                record(0, new TripCompletedEvent("trip-0", "user-1", "driver-A", 1200, 300, null)),
+                record(1, Map.of("type", "TripStartedEvent")), // 관심 없는 이벤트
+                record(2, new TripCanceledEvent("trip-2", "driver-B", "USER"))));
+
+        // then
+        verify(matchingService).releaseDrivers(List.of("driver-A", "driver-B"));
+        verify(matchingService, never()).releaseDriver(anyString());
+    }
+
+    @Test
+    @DisplayName("일괄 복구가 실패하면 레코드별로 재시도하고, 실패한 레코드의 위치를 에러 핸들러에 알린다")
+    void handleTripEvents_PinpointsFailedRecordWhenBatchFails() {
+        // given
+        given(matchingService.releaseDrivers(List.of("driver-A", "driver-B", "driver-C")))
+                .willReturn(Mono.error(new RuntimeException("Redis timeout")));
+        given(matchingService.releaseDriver("driver-A")).willReturn(Mono.just(true));
+        given(matchingService.releaseDriver("driver-B")).willReturn(Mono.error(new RuntimeException("Redis timeout")));
+
+        // when & then
+        assertThatThrownBy(() -> consumer.handleTripEvents(List.of(
+                record(0, new TripCanceledEvent("trip-0", "driver-A", "USER")),
+                record(1, new TripCanceledEvent("trip-1", "driver-B", "USER")),
+                record(2, new TripCanceledEvent("trip-2", "driver-C", "USER")))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(1));
+
+        verify(matchingService, never()).releaseDriver("driver-C");
+    }
+
+    @Test
+    @DisplayName("역직렬화에 실패한 레코드가 있으면 그 앞까지만 복구하고, 해당 레코드를 지목해 DLT로 보내게 한다")
+    void handleTripEvents_PinpointsUndeserializableRecord() {
+        // given (ErrorHandlingDeserializer가 값을 null로 두고 예외 헤더를 붙임)
+        ConsumerRecord<String, Object> undeserializable = record(1, null);
+        undeserializable.headers().add(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, new byte[0]);
+        given(matchingService.releaseDrivers(List.of("driver-A"))).willReturn(Mono.just(1L));
+
+        // when & then
+        assertThatThrownBy(() -> consumer.handleTripEvents(List.of(
+                record(0, new TripCanceledEvent("trip-0", "driver-A", "USER")),
+                undeserializable,
+                record(2, new TripCanceledEvent("trip-2", "driver-B", "USER")))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(1));
+
+        verify(matchingService).releaseDrivers(List.of("driver-A"));
+        verify(matchingService, never()).releaseDrivers(List.of("driver-A", "driver-B"));
+    }
+}
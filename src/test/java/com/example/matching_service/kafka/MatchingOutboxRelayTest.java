@@ -0,0 +1,198 @@
+package com.example.matching_service.kafka;
+
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import com.example.matching_service.entity.MatchingOutbox;
+import com.example.matching_service.entity.OutboxStatus;
+import com.example.matching_service.repository.MatchingOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingOutboxRelayTest {
+
+    private MatchingOutboxRelay relay;
+
+    @Mock private MatchingOutboxRepository outboxRepository;
+    @Mock private MatchedEventSender eventSender;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private OutboxShardLeaseManager shardLeaseManager;
+
+    @BeforeEach
+    void setUp() {
+        relay = new MatchingOutboxRelay(outboxRepository, eventSender, transactionTemplate,
+                MatchingPropertiesFixture.defaults(), shardLeaseManager, new OutboxRelayMetrics(new SimpleMeterRegistry()));
+        lenient().when(transactionTemplate.execute(any()))
+                 .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private MatchingOutbox outbox(long id, String aggregateId) {
+        MatchingOutbox outbox = MatchingOutbox.builder()
+                                              .aggregateId(aggregateId)
+                                              .topic("matching_events")
+                                              .payload(payload(id))
+                                              .build();
+        ReflectionTestUtils.setField(outbox, "id", id);
+        return outbox;
+    }
+
+    private byte[] payload(long id) {
+        return ("payload-" + id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("배치를 비동기로 전송한 뒤 성공/실패 건을 각각 한 번의 벌크 업데이트로 반영한다")
+    void publishEvents_SendsBatchAsyncAndUpdatesInBulk() {
+        // given
+        given(outboxRepository.findEventsForPublishing(0, 100))
+                .willReturn(List.of(outbox(1L, "trip-1"), outbox(2L, "trip-2"), outbox(3L, "trip-3")));
+        given(eventSender.send("matching_events", "trip-1", payload(1L))).willReturn(CompletableFuture.completedFuture(null));
+        given(eventSender.send("matching_events", "trip-2", payload(2L))).willReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+        given(eventSender.send("matching_events", "trip-3", payload(3L))).willReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        int fetched = relay.publishEvents(0);
+
+        // then
+        assertThat(fetched).isEqualTo(3);
+        verify(outboxRepository).updateStatus(List.of(1L, 2L, 3L), OutboxStatus.PUBLISHING);
+        verify(outboxRepository).updateStatus(List.of(1L, 3L), OutboxStatus.DONE);
+        verify(outboxRepository).updateStatus(List.of(2L), OutboxStatus.READY);
+    }
+
+    @Test
+    @DisplayName("같은 aggregate의 후속 이벤트는 이번 배치에서 발행하지 않고 다음 배치로 미룬다")
+    void publishEvents_DefersSameAggregateToKeepOrder() {
+        // given
+        given(outboxRepository.findEventsForPublishing(0, 100))
+                .willReturn(List.of(outbox(1L, "trip-1"), outbox(2L, "trip-1")));
+        given(eventSender.send("matching_events", "trip-1", payload(1L))).willReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        relay.publishEvents(0);
+
+        // then
+        verify(eventSender, never()).send("matching_events", "trip-1", payload(2L));
+        verify(outboxRepository).updateStatus(List.of(1L), OutboxStatus.DONE);
+        verify(outboxRepository).updateStatus(List.of(2L), OutboxStatus.READY);
+    }
+
+    @Test
+    @DisplayName("본문이 없는 행은 전송하지 않고 FAILED로 표시해 재시도 대상에서 뺀다")
+    void publishEvents_MarksRowWithoutPayloadAsFailed() {
+        // given
+        MatchingOutbox empty = MatchingOutbox.builder().aggregateId("trip-2").topic("matching_events").build();
+        ReflectionTestUtils.setField(empty, "id", 2L);
+        given(outboxRepository.findEventsForPublishing(0, 100)).willReturn(List.of(outbox(1L, "trip-1"), empty));
+        given(eventSender.send("matching_events", "trip-1", payload(1L))).willReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        relay.publishEvents(0);
+
+        // then
+        verify(eventSender, never()).send(any(), eq("trip-2"), any());
+        verify(outboxRepository).updateStatus(List.of(1L), OutboxStatus.DONE);
+        verify(outboxRepository).updateStatus(List.of(2L), OutboxStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("샤드 리스 만료 전까지 전송이 확인되지 않으면 기다리지 않고 배치를 포기해 READY로 되돌린다")
+    void publishEvents_AbandonsBatchBeforeLeaseExpires() {
+        // given
+        given(outboxRepository.findEventsForPublishing(0, 100))
+                .willReturn(List.of(outbox(1L, "trip-1"), outbox(2L, "trip-2")));
+        given(eventSender.send("matching_events", "trip-1", payload(1L))).willReturn(CompletableFuture.completedFuture(null));
+        given(eventSender.send("matching_events", "trip-2", payload(2L))).willReturn(new CompletableFuture<>()); // 응답 없음
+
+        // when
+        long startMillis = System.currentTimeMillis();
+        relay.publishEvents(0, startMillis + 1000);
+
+        // then
+        assertThat(System.currentTimeMillis() - startMillis).isLessThan(1000);
+        verify(outboxRepository).updateStatus(List.of(1L), OutboxStatus.DONE);
+        verify(outboxRepository).updateStatus(List.of(2L), OutboxStatus.READY);
+    }
+
+    @Test
+    @DisplayName("Outbox 저장 이벤트를 받으면 백오프 대기 중인 폴러를 즉시 깨운다")
+    void onOutboxSaved_WakesUpIdlePoller() throws Exception {
+        // given: 빈 테이블로 시작해 백오프 대기 상태에 들어감
+        MatchingOutbox event = outbox(1L, "trip-1");
+        given(outboxRepository.findEventsForPublishing(0, 100))
+                .willReturn(List.of())
+                .willReturn(List.of(event))
+                .willReturn(List.of());
+        given(eventSender.send("matching_events", "trip-1", payload(1L))).willReturn(CompletableFuture.completedFuture(null));
+
+        given(shardLeaseManager.tryAcquire(0, 0)).willReturn(true);
+
+        relay = new MatchingOutboxRelay(outboxRepository, eventSender, transactionTemplate,
+                MatchingPropertiesFixture.with(Map.of(
+                        "matching.outbox-relay.min-delay", "10s",
+                        "matching.outbox-relay.max-delay", "10s",
+                        "matching.outbox-relay.shard-count", "1",
+                        "matching.outbox-relay.worker-count", "1")),
+                shardLeaseManager, new OutboxRelayMetrics(new SimpleMeterRegistry()));
+        relay.start();
+
+        try {
+            verify(outboxRepository, timeout(1000)).findEventsForPublishing(0, 100);
+
+            // when
+            relay.onOutboxSaved(new OutboxSavedEvent(1L));
+
+            // then: 10초 백오프를 기다리지 않고 바로 발행
+            verify(outboxRepository, timeout(1000)).updateStatus(List.of(1L), OutboxStatus.DONE);
+        } finally {
+            relay.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("다른 워커가 샤드 리스를 보유 중이면 해당 샤드는 조회하지 않는다")
+    void start_SkipsShardLeasedByOtherWorker() throws Exception {
+        // given
+        given(shardLeaseManager.tryAcquire(0, 0)).willReturn(false);
+
+        relay = new MatchingOutboxRelay(outboxRepository, eventSender, transactionTemplate,
+                MatchingPropertiesFixture.with(Map.of(
+                        "matching.outbox-relay.shard-count", "1",
+                        "matching.outbox-relay.worker-count", "1")),
+                shardLeaseManager, new OutboxRelayMetrics(new SimpleMeterRegistry()));
+
+        // when
+        relay.start();
+
+        // then
+        try {
+            verify(shardLeaseManager, timeout(1000).atLeastOnce()).tryAcquire(0, 0);
+            verify(outboxRepository, never()).findEventsForPublishing(anyInt(), anyInt());
+            verify(shardLeaseManager, never()).release(anyInt(), anyInt());
+        } finally {
+            relay.stop();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.matching_service.scheduler;
+
+import com.example.matching_service.client.TripServiceClient;
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import com.example.matching_service.service.MatchingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DriverStatusSchedulerTest {
+
+    @Mock private ReactiveRedisTemplate<String, String> redisTemplate;
+    @Mock private MatchingService matchingService;
+    @Mock private TripServiceClient tripServiceClient;
+    @Mock private ReactiveZSetOperations<String, String> zSetOps;
+
+    // ARGV[1]은 실행 시각 기준 cutoff, 나머지는 기사 ID
+    private static List<String> driverArgs(String... driverIds) {
+        return argThat(args -> args.size() == driverIds.length + 1 && args.subList(1, args.size()).equals(List.of(driverIds)));
+    }
+
+    @Test
+    @DisplayName("첫 실행은 전체 SCAN: 페이지마다 상태를 한 번에 조회하고, 여정 서비스 일괄 조회 결과 운행 중이 아닌 기사만 한 번에 복구한다")
+    void syncDriverStatus_ReleasesZombieDriversInBulk() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DriverStatusScheduler scheduler = new DriverStatusScheduler(redisTemplate, matchingService, tripServiceClient,
+                MatchingPropertiesFixture.with(Map.of("matching.reconciliation.scan-page-size", "3")),
+                new DriverReconciliationMetrics(meterRegistry));
+
+        given(redisTemplate.scan(any(ScanOptions.class)))
+                .willReturn(Flux.just("driver_status:A", "driver_status:B", "driver_status:C", "driver_status:D"));
+        given(redisTemplate.execute(any(RedisScript.class), eq(List.of("busy_drivers", "driver_status:A", "driver_status:B", "driver_status:C")), driverArgs("A", "B", "C")))
+                .willReturn(Flux.just("011"));
+        given(redisTemplate.execute(any(RedisScript.class), eq(List.of("busy_drivers", "driver_status:D")), driverArgs("D")))
+                .willReturn(Flux.just("1"));
+        given(tripServiceClient.findDriversOnTrip(List.of("B", "C", "D"))).willReturn(Mono.just(Set.of("C")));
+        given(matchingService.releaseDrivers(List.of("B", "D"))).willReturn(Mono.just(2L));
+
+        // when
+        scheduler.syncDriverStatus();
+
+        // then
+        verify(matchingService).releaseDrivers(List.of("B", "D"));
+        assertThat(meterRegistry.get("matching.reconciliation.drivers").tag("stage", "released").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("matching.reconciliation.duration").tag("result", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("전체 SCAN 이후에는 busy_drivers ZSET에서 오래된 운행 중 기사만 꺼내 검사한다")
+    void syncDriverStatus_UsesBusyIndexAfterFullScan() {
+        // given
+        DriverStatusScheduler scheduler = new DriverStatusScheduler(redisTemplate, matchingService, tripServiceClient,
+                MatchingPropertiesFixture.defaults(), new DriverReconciliationMetrics(new SimpleMeterRegistry()));
+
+        given(redisTemplate.scan(any(ScanOptions.class))).willReturn(Flux.empty());
+        scheduler.syncDriverStatus(); // 기동 직후 전체 SCAN
+
+        given(redisTemplate.opsForZSet()).willReturn(zSetOps);
+        given(zSetOps.rangeByScore(eq("busy_drivers"), any())).willReturn(Flux.just("A"));
+        given(redisTemplate.execute(any(RedisScript.class), eq(List.of("busy_drivers", "driver_status:A")), driverArgs("A")))
+                .willReturn(Flux.just("1"));
+        given(tripServiceClient.findDriversOnTrip(List.of("A"))).willReturn(Mono.just(Set.of()));
+        given(matchingService.releaseDrivers(List.of("A"))).willReturn(Mono.just(1L));
+
+        // when
+        scheduler.syncDriverStatus();
+
+        // then
+        verify(redisTemplate, times(1)).scan(any(ScanOptions.class));
+        verify(matchingService).releaseDrivers(List.of("A"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASELINE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return limiter(initialLimit, false);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, boolean trustHighPriority) {
+        return new AdaptiveConcurrencyLimiter(
+                MatchingPropertiesFixture.with(Map.of(
+                        "matching.admission.initial-limit", String.valueOf(initialLimit),
+                        "matching.admission.trust-high-priority", String.valueOf(trustHighPriority))),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("한도 가까이 쓰는 동안 지연이 평소 수준이면 한도를 늘리고, 지연이 급증하면 줄인다")
+    void onSample_AdjustsLimitByLatencyGradient() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = limiter(100);
+
+        // when: 평소 지연
+        for (int i = 0; i < 50; i++) limiter.onSample(BASELINE_NANOS, limiter.limit());
+        int grownLimit = limiter.limit();
+
+        // when: 지연 10배 (Redis/위치 서비스 포화)
+        for (int i = 0; i < 50; i++) limiter.onSample(BASELINE_NANOS * 10, limiter.limit());
+
+        // then
+        assertThat(grownLimit).isGreaterThan(100);
+        assertThat(limiter.limit()).isLessThan(grownLimit / 2);
+        assertThat(limiter.limit()).isGreaterThanOrEqualTo(10); // minLimit
+    }
+
+    @Test
+    @DisplayName("타임아웃/하위 서비스 오류로 실패하면 지연 표본 없이도 한도를 곱셈으로 줄이고 minLimit 아래로는 내리지 않는다")
+    void drop_ShrinksLimitOnTimeouts() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = limiter(100);
+
+        // when: 연속 타임아웃 5건
+        for (int i = 0; i < 5; i++) limiter.tryAcquire(MatchPriority.NORMAL).orElseThrow().drop();
+        int shrunkLimit = limiter.limit();
+        for (int i = 0; i < 100; i++) limiter.tryAcquire(MatchPriority.NORMAL).orElseThrow().drop();
+
+        // then (100 * 0.9^5 ≈ 59)
+        assertThat(shrunkLimit).isEqualTo(59);
+        assertThat(limiter.limit()).isEqualTo(10); // minLimit
+    }
+
+    @Test
+    @DisplayName("한도의 절반도 쓰지 않을 때는 한도를 늘리지 않는다")
+    void onSample_IgnoresAppLimitedSamples() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = limiter(100);
+
+        // when
+        for (int i = 0; i < 50; i++) limiter.onSample(BASELINE_NANOS, 5);
+
+        // then
+        assertThat(limiter.limit()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("한도에 가까워지면 LOW 요청부터 거절하고 HIGH 요청은 한도까지 받는다")
+    void tryAcquire_RespectsPriorityShare() {
+        // given: 한도 10, LOW 몫 5
+        AdaptiveConcurrencyLimiter limiter = limiter(10, true);
+        for (int i = 0; i < 5; i++) assertThat(limiter.tryAcquire(MatchPriority.HIGH)).isPresent();
+
+        // when
+        Optional<AdaptiveConcurrencyLimiter.Permit> low = limiter.tryAcquire(MatchPriority.LOW);
+        Optional<AdaptiveConcurrencyLimiter.Permit> high = limiter.tryAcquire(MatchPriority.HIGH);
+
+        // then
+        assertThat(low).isEmpty();
+        assertThat(high).isPresent();
+
+        // 반납하면 다시 받을 수 있음
+        high.get().release(false);
+        assertThat(limiter.tryAcquire(MatchPriority.NORMAL)).isPresent();
+    }
+
+    @Test
+    @DisplayName("게이트웨이를 믿지 않으면 HIGH는 NORMAL 몫으로 거절되고, 같은 Permit을 여러 번 반납해도 한 자리만 돌려준다")
+    void tryAcquire_TreatsUntrustedHighAsNormal() {
+        // given: 한도 10, NORMAL 몫 9
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        Optional<AdaptiveConcurrencyLimiter.Permit> first = limiter.tryAcquire(MatchPriority.NORMAL);
+        for (int i = 0; i < 8; i++) assertThat(limiter.tryAcquire(MatchPriority.NORMAL)).isPresent();
+
+        // when & then
+        assertThat(limiter.tryAcquire(MatchPriority.HIGH)).isEmpty();
+
+        first.get().release(false);
+        first.get().release(false);
+        assertThat(limiter.tryAcquire(MatchPriority.HIGH)).isPresent();
+        assertThat(limiter.tryAcquire(MatchPriority.HIGH)).isEmpty();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import com.example.matching_service.dto.MatchResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MatchIdempotencyGuardTest {
+
+    private static final String RECORD_KEY = "match_idempotency:user-1:key-1";
+
+    private MatchIdempotencyGuard guard;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock private ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
+    @Mock private ReactiveValueOperations<String, String> valueOps;
+
+    @BeforeEach
+    void setUp() {
+        given(reactiveRedisTemplate.opsForValue()).willReturn(valueOps);
+        guard = new MatchIdempotencyGuard(reactiveRedisTemplate, objectMapper, MatchingPropertiesFixture.defaults());
+    }
+
+    @Test
+    @DisplayName("같은 키로 다시 요청하면 매칭을 다시 실행하지 않고 처음 결과를 돌려준다")
+    void execute_ReturnsOriginalResultForDuplicate() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        Mono<MatchResponse> match = Mono.fromCallable(() -> new MatchResponse("매칭 성공!", "req-" + executions.incrementAndGet()));
+        given(valueOps.setIfAbsent(eq(RECORD_KEY), eq("PENDING"), any(Duration.class))).willReturn(Mono.just(true));
+        given(valueOps.set(eq(RECORD_KEY), anyString(), any(Duration.class))).willReturn(Mono.just(true));
+
+        // when & then
+        StepVerifier.create(guard.execute("user-1", "key-1", match))
+                    .expectNextMatches(response -> response.matchRequestId().equals("req-1"))
+                    .verifyComplete();
+        StepVerifier.create(guard.execute("user-1", "key-1", match))
+                    .expectNextMatches(response -> response.matchRequestId().equals("req-1"))
+                    .verifyComplete();
+
+        assertThat(executions.get()).isEqualTo(1);
+        verify(valueOps, times(1)).setIfAbsent(eq(RECORD_KEY), eq("PENDING"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("첫 클라이언트가 연결을 끊어도 매칭은 끝까지 진행되고, 같은 키의 재시도는 그 결과를 받는다")
+    void execute_CompletesMatchAfterFirstSubscriberCancels() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        Mono<MatchResponse> match = Mono.delay(Duration.ofMillis(100))
+                                        .map(tick -> new MatchResponse("매칭 성공!", "req-" + executions.incrementAndGet()));
+        given(valueOps.setIfAbsent(eq(RECORD_KEY), eq("PENDING"), any(Duration.class))).willReturn(Mono.just(true));
+        given(valueOps.set(eq(RECORD_KEY), anyString(), any(Duration.class))).willReturn(Mono.just(true));
+
+        // when
+        StepVerifier.create(guard.execute("user-1", "key-1", match))
+                    .thenCancel()
+                    .verify();
+
+        // then
+        StepVerifier.create(guard.execute("user-1", "key-1", match))
+                    .expectNextMatches(response -> response.matchRequestId().equals("req-1"))
+                    .verifyComplete();
+
+        assertThat(executions.get()).isEqualTo(1);
+        verify(valueOps).set(eq(RECORD_KEY), anyString(), any(Duration.class));
+        verify(reactiveRedisTemplate, never()).delete(RECORD_KEY);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 이미 처리한 키면 Redis에 기록된 결과를 돌려준다")
+    void execute_ReturnsResultRecordedByOtherInstance() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        Mono<MatchResponse> match = Mono.fromCallable(() -> new MatchResponse("매칭 성공!", "req-" + executions.incrementAndGet()));
+        given(valueOps.setIfAbsent(eq(RECORD_KEY), eq("PENDING"), any(Duration.class))).willReturn(Mono.just(false));
+        given(valueOps.get(RECORD_KEY))
+                .willReturn(Mono.just("PENDING"))
+                .willReturn(Mono.just(objectMapper.writeValueAsString(new MatchResponse("매칭 성공!", "req-remote"))));
+
+        // when & then
+        StepVerifier.create(guard.execute("user-1", "key-1", match))
+                    .expectNextMatches(response -> response.matchRequestId().equals("req-remote"))
+                    .verifyComplete();
+
+        assertThat(executions.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("매칭이 실패하면 기록을 지우고, 같은 키의 재시도는 매칭을 다시 실행한다")
+    void execute_RerunsAfterFailure() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        Mono<MatchResponse> match = Mono.fromCallable(() -> {
+            if (executions.incrementAndGet() == 1) throw new RuntimeException("배차 가능한 기사가 없습니다.");
+            return new MatchResponse("매칭 성공!", "req-2");
+        });
+        given(valueOps.setIfAbsent(eq(RECORD_KEY), eq("PENDING"), any(Duration.class))).willReturn(Mono.just(true));
+        given(valueOps.set(eq(RECORD_KEY), anyString(), any(Duration.class))).willReturn(Mono.just(true));
+        given(reactiveRedisTemplate.delete(RECORD_KEY)).willReturn(Mono.just(1L));
+
+        // when & then
+        StepVerifier.create(guard.execute("user-1", "key-1", match))
+                    .expectErrorMessage("배차 가능한 기사가 없습니다.")
+                    .verify();
+        StepVerifier.create(guard.execute("user-1", "key-1", match))
+                    .expectNextMatches(response -> response.matchRequestId().equals("req-2"))
+                    .verifyComplete();
+
+        assertThat(executions.get()).isEqualTo(2);
+        verify(reactiveRedisTemplate).delete(RECORD_KEY);
+    }
+
+    @Test
+    @DisplayName("처리 중 기록은 짧은 TTL로 남기므로, 처리하던 인스턴스가 끝내지 못하고 죽으면 기록 만료 후 재시도가 직접 매칭한다")
+    void execute_ReclaimsWhenOwnerNeverCompletes() {
+        // given (다른 인스턴스가 PENDING을 남기고 죽은 뒤 기록이 만료됨)
+        AtomicInteger executions = new AtomicInteger();
+        Mono<MatchResponse> match = Mono.fromCallable(() -> new MatchResponse("매칭 성공!", "req-" + executions.incrementAndGet()));
+        given(valueOps.setIfAbsent(eq(RECORD_KEY), eq("PENDING"), eq(Duration.ofSeconds(30))))
+                .willReturn(Mono.just(false))
+                .willReturn(Mono.just(true));
+        given(valueOps.get(RECORD_KEY))
+                .willReturn(Mono.just("PENDING"))
+                .willReturn(Mono.empty());
+        given(valueOps.set(eq(RECORD_KEY), anyString(), eq(Duration.ofMinutes(10)))).willReturn(Mono.just(true));
+
+        // when & then
+        StepVerifier.create(guard.execute("user-1", "key-1", match))
+                    .expectNextMatches(response -> response.matchRequestId().equals("req-1"))
+                    .verifyComplete();
+
+        assertThat(executions.get()).isEqualTo(1);
+        verify(valueOps, times(2)).setIfAbsent(eq(RECORD_KEY), eq("PENDING"), eq(Duration.ofSeconds(30)));
+        verify(valueOps).set(eq(RECORD_KEY), anyString(), eq(Duration.ofMinutes(10)));
+    }
+}
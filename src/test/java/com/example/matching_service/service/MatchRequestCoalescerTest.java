@@ -0,0 +1,82 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.client.LocationServiceClient.NearbyDriver;
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import com.example.matching_service.dto.MatchRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchRequestCoalescerTest {
+
+    private final MatchRequestCoalescer coalescer =
+            new MatchRequestCoalescer(MatchingPropertiesFixture.with(Map.of("matching.coalescing.window", "10ms")));
+
+    @Test
+    @DisplayName("배정이 끝나기 전에 요청이 취소되면 그 요청에 배정된 기사의 예약을 되돌린다")
+    void submit_ReleasesDriverAssignedToCancelledRequest() throws Exception {
+        // given
+        MatchRequest request = new MatchRequest(new MatchRequest.Location(127.0, 37.5), new MatchRequest.Location(127.1, 37.6));
+        Sinks.One<List<NearbyDriver>> assignment = Sinks.one();
+        CompletableFuture<List<String>> released = new CompletableFuture<>();
+
+        // when (요청 타임아웃 등으로 먼저 취소된 뒤 배정 완료)
+        StepVerifier.create(coalescer.submit(request, requests -> assignment.asMono(), driverIds -> {
+                        released.complete(driverIds);
+                        return Mono.just(1L);
+                    }))
+                    .expectSubscription()
+                    .thenCancel()
+                    .verify();
+        assignment.tryEmitValue(List.of(new NearbyDriver("driver-A", 0.3)));
+
+        // then
+        assertThat(released.get(1, TimeUnit.SECONDS)).containsExactly("driver-A");
+    }
+
+    @Test
+    @DisplayName("기다리는 요청에 전달된 기사는 되돌리지 않는다")
+    void submit_KeepsDriverDeliveredToWaitingRequest() {
+        // given
+        MatchRequest request = new MatchRequest(new MatchRequest.Location(127.0, 37.5), new MatchRequest.Location(127.1, 37.6));
+        CompletableFuture<List<String>> released = new CompletableFuture<>();
+
+        // when & then
+        StepVerifier.create(coalescer.submit(request, requests -> Mono.just(List.of(new NearbyDriver("driver-A", 0.3))), driverIds -> {
+                        released.complete(driverIds);
+                        return Mono.just(1L);
+                    }))
+                    .expectNext(new NearbyDriver("driver-A", 0.3))
+                    .verifyComplete();
+        assertThat(released).isNotDone();
+    }
+
+    @Test
+    @DisplayName("maxBatchSize가 차 submit 안에서 동기 배정이 끝나도, 나중에 구독한 요청이 기사를 받고 예약은 되돌리지 않는다")
+    void submit_DeliversDriverAssignedBeforeSubscription() {
+        // given
+        MatchRequestCoalescer fullBatchCoalescer = new MatchRequestCoalescer(MatchingPropertiesFixture.with(Map.of(
+                "matching.coalescing.window", "10s",
+                "matching.coalescing.max-batch-size", "1")));
+        MatchRequest request = new MatchRequest(new MatchRequest.Location(127.0, 37.5), new MatchRequest.Location(127.1, 37.6));
+        CompletableFuture<List<String>> released = new CompletableFuture<>();
+
+        // when & then
+        StepVerifier.create(fullBatchCoalescer.submit(request, requests -> Mono.just(List.of(new NearbyDriver("driver-A", 0.3))), driverIds -> {
+                        released.complete(driverIds);
+                        return Mono.just(1L);
+                    }))
+                    .expectNext(new NearbyDriver("driver-A", 0.3))
+                    .verifyComplete();
+        assertThat(released).isNotDone();
+    }
+}
@@ -2,25 +2,43 @@ package com.example.matching_service.service;
 
 import com.example.matching_service.client.LocationServiceClient;
 import com.example.matching_service.client.LocationServiceClient.NearbyDriver;
+import com.example.matching_service.codec.JsonTripMatchedEventCodec;
+import com.example.matching_service.config.MatchingProperties;
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import com.example.matching_service.config.MatchingProperties.SearchStrategy;
 import com.example.matching_service.dto.MatchRequest;
+import com.example.matching_service.dto.MatchResponse;
+import com.example.matching_service.dto.kafka.DriverStatusChangedEvent;
+import com.example.matching_service.geo.DriverGeoIndex;
+import com.example.matching_service.kafka.DriverStatusPublisher;
+import com.example.matching_service.status.DriverStatusMirror;
 import com.example.matching_service.entity.MatchingOutbox;
 import com.example.matching_service.repository.MatchingOutboxRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
-import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,27 +53,58 @@ class MatchingServiceTest {
     @Mock private LocationServiceClient locationServiceClient;
     @Mock private ReactiveRedisTemplate<String, String> reactiveRedisTemplate;
     @Mock private MatchingOutboxRepository outboxRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private KafkaTemplate<String, Object> kafkaTemplate;
 
     @Mock private ReactiveValueOperations<String, String> valueOps;
-    @Mock private ReactiveHashOperations<String, Object, Object> hashOps;
 
-    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final JsonTripMatchedEventCodec codec = new JsonTripMatchedEventCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private DriverAvailabilityCache availabilityCache;
+    private DriverStatusMirror statusMirror;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         lenient().when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOps);
-        lenient().when(reactiveRedisTemplate.opsForHash()).thenReturn(hashOps);
 
-        matchingService = new MatchingService(
+        matchingService = createMatchingService(false, SearchStrategy.SEQUENTIAL);
+    }
+
+    private MatchingService createMatchingService(boolean batchEnabled, SearchStrategy strategy) {
+        return createMatchingService(Map.of(
+                "matching.candidate.batch-enabled", String.valueOf(batchEnabled),
+                "matching.search.strategy", strategy.name()
+        ));
+    }
+
+    private MatchingService createMatchingService(Map<String, String> overrides) {
+        // 기본은 요청마다 저장하는 경로로 검증 (배치 기록기는 OutboxBatchWriterTest에서 검증)
+        Map<String, String> settings = new HashMap<>(overrides);
+        settings.putIfAbsent("matching.outbox-writer.batch-enabled", "false");
+        MatchingProperties properties = MatchingPropertiesFixture.with(settings);
+        meterRegistry = new SimpleMeterRegistry();
+        availabilityCache = new DriverAvailabilityCache(reactiveRedisTemplate, properties, meterRegistry);
+        statusMirror = new DriverStatusMirror(properties, meterRegistry);
+
+        return new MatchingService(
                 locationServiceClient,
                 reactiveRedisTemplate,
-                outboxRepository,
-                objectMapper
+                new OutboxMatchedEventStore(codec, properties,
+                        new OutboxBatchWriter(outboxRepository, transactionTemplate, properties, eventPublisher, Schedulers.boundedElastic())),
+                properties,
+                availabilityCache,
+                new DriverGeoIndex(properties, new SimpleMeterRegistry()),
+                statusMirror,
+                new DriverStatusPublisher(kafkaTemplate, properties),
+                new MatchingMetrics(meterRegistry, properties),
+                new MatchRequestCoalescer(properties),
+                Schedulers.boundedElastic()
         );
     }
 
     @Test
-    @DisplayName("정상 흐름: 락 획득 -> 상태 확인 -> 상태 변경 -> Outbox 저장 -> 성공 응답")
+    @DisplayName("정상 흐름: 예약 스크립트(락 + 상태 확인 + 상태 변경) -> Outbox 저장 -> 성공 응답")
     void requestMatch_Success() {
         // given
         String userId = "user-1";
@@ -71,15 +120,10 @@ class MatchingServiceTest {
         given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), eq(1)))
                 .willReturn(Flux.just(driver));
 
-        // Redis & DB Mocking
-        given(valueOps.setIfAbsent(eq("matching_lock:driver-A"), eq("LOCKED"), any(Duration.class)))
-                .willReturn(Mono.just(true));
-
-        given(hashOps.get("driver_status:driver-A", "isAvailable"))
-                .willReturn(Mono.just("1"));
-
-        given(hashOps.put("driver_status:driver-A", "isAvailable", "0"))
-                .willReturn(Mono.just(true));
+        // Redis & DB Mocking (락 + 상태 확인 + 예약 스크립트 성공)
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-A", "driver_status:driver-A", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
 
         given(outboxRepository.save(any(MatchingOutbox.class)))
                 .willAnswer(invocation -> invocation.getArgument(0));
@@ -104,17 +148,13 @@ class MatchingServiceTest {
         NearbyDriver driver = new NearbyDriver("driver-A", 0.5);
 
         given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), anyInt())).willReturn(Flux.just(driver));
-        given(valueOps.setIfAbsent(anyString(), anyString(), any())).willReturn(Mono.just(true));
-        given(hashOps.get(anyString(), any())).willReturn(Mono.just("1"));
-        given(hashOps.put(anyString(), any(), eq("0"))).willReturn(Mono.just(true));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).willReturn(Flux.just(0L));
 
         // DB 저장 실패 가정
         given(outboxRepository.save(any(MatchingOutbox.class)))
                 .willThrow(new RuntimeException("DB Connection Error"));
 
-        // 롤백 동작 Mocking
-        given(hashOps.put("driver_status:driver-A", "isAvailable", "1"))
-                .willReturn(Mono.just(true));
+        // 롤백 동작 Mocking (상태 복구 스크립트는 위의 execute 스텁이 처리)
         given(valueOps.delete("matching_lock:driver-A"))
                 .willReturn(Mono.just(true));
 
@@ -124,7 +164,306 @@ class MatchingServiceTest {
                     .verify();
 
         // Verify
-        verify(hashOps).put("driver_status:driver-A", "isAvailable", "1");
+        verify(reactiveRedisTemplate).execute(any(RedisScript.class),
+                eq(List.of("busy_drivers", "driver_status:driver-A")), eq(List.of("driver_status_changes", "driver-A")));
         verify(valueOps).delete("matching_lock:driver-A");
+        assertThat(meterRegistry.get("matching.request.latency").tag("outcome", "STORE_FAILURE").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("matching.event.store.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 요청이 락을 보유한 기사는 건너뛰고 다음 후보를 예약한다")
+    void requestMatch_SkipsDriverLockedByOther() {
+        // given
+        MatchRequest request = new MatchRequest(new MatchRequest.Location(127.0, 37.5), new MatchRequest.Location(127.1, 37.6));
+
+        lenient().when(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), anyInt()))
+                 .thenReturn(Flux.empty());
+        given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), eq(1)))
+                .willReturn(Flux.just(new NearbyDriver("driver-A", 0.3), new NearbyDriver("driver-B", 0.6)));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-A", "driver_status:driver-A", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(1L));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-B", "driver_status:driver-B", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
+        given(outboxRepository.save(any(MatchingOutbox.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when & then
+        StepVerifier.create(matchingService.requestMatch("user-1", request))
+                    .assertNext(response -> assertThat(response.message()).isEqualTo("매칭 성공!"))
+                    .verifyComplete();
+
+        verify(outboxRepository).save(argThat((MatchingOutbox outbox) -> codec.decode(outbox.getPayload()).driverId().equals("driver-B")));
+    }
+
+    @Test
+    @DisplayName("일괄 조회 모드: 상위 N명 상태를 한 번에 조회하고 배차 불가 기사는 예약 시도 없이 제외한다")
+    void requestMatch_BatchMode_SkipsUnavailableWithoutLocking() {
+        // given
+        matchingService = createMatchingService(true, SearchStrategy.SEQUENTIAL);
+        MatchRequest request = new MatchRequest(new MatchRequest.Location(127.0, 37.5), new MatchRequest.Location(127.1, 37.6));
+
+        lenient().when(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), anyInt()))
+                 .thenReturn(Flux.empty());
+        given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), eq(1)))
+                .willReturn(Flux.just(new NearbyDriver("driver-A", 0.3), new NearbyDriver("driver-B", 0.6)));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("driver_status:driver-A", "driver_status:driver-B")), anyList()))
+                .willReturn(Flux.just("01"));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-B", "driver_status:driver-B", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
+        given(outboxRepository.save(any(MatchingOutbox.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when & then
+        StepVerifier.create(matchingService.requestMatch("user-1", request))
+                    .assertNext(response -> assertThat(response.message()).isEqualTo("매칭 성공!"))
+                    .verifyComplete();
+
+        verify(reactiveRedisTemplate, never()).execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-A", "driver_status:driver-A", "busy_drivers")), anyList());
+    }
+
+    @Test
+    @DisplayName("WIDEST 검색: 가장 넓은 반경으로 한 번만 조회하고 안쪽 구간의 기사부터 예약한다")
+    void requestMatch_WidestStrategy_SingleLookupInnerRingFirst() {
+        // given
+        matchingService = createMatchingService(false, SearchStrategy.WIDEST);
+        MatchRequest request = new MatchRequest(new MatchRequest.Location(127.0, 37.5), new MatchRequest.Location(127.1, 37.6));
+
+        // 위치 서비스 응답 순서와 무관하게 1km 구간의 driver-B가 먼저 검사되어야 함
+        given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), eq(3)))
+                .willReturn(Flux.just(new NearbyDriver("driver-A", 2.5), new NearbyDriver("driver-B", 0.8)));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-B", "driver_status:driver-B", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
+        given(outboxRepository.save(any(MatchingOutbox.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when & then
+        StepVerifier.create(matchingService.requestMatch("user-1", request))
+                    .assertNext(response -> assertThat(response.message()).isEqualTo("매칭 성공!"))
+                    .verifyComplete();
+
+        verify(locationServiceClient, times(1)).findNearbyDrivers(anyDouble(), anyDouble(), anyInt());
+        verify(outboxRepository).save(argThat((MatchingOutbox outbox) -> codec.decode(outbox.getPayload()).driverId().equals("driver-B")));
+    }
+
+    @Test
+    @DisplayName("로컬 캐시가 운행 중으로 알고 있는 기사는 Redis 왕복 없이 후보에서 제외한다")
+    void requestMatch_SkipsDriverKnownBusyInLocalCache() {
+        // given
+        MatchRequest request = new MatchRequest(new MatchRequest.Location(127.0, 37.5), new MatchRequest.Location(127.1, 37.6));
+        availabilityCache.record("driver-A", false);
+
+        lenient().when(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), anyInt()))
+                 .thenReturn(Flux.empty());
+        given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), eq(1)))
+                .willReturn(Flux.just(new NearbyDriver("driver-A", 0.3), new NearbyDriver("driver-B", 0.6)));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("driver_status:driver-A")), anyList()))
+                .willReturn(Flux.just("0"));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-B", "driver_status:driver-B", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
+        given(outboxRepository.save(any(MatchingOutbox.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when & then
+        StepVerifier.create(matchingService.requestMatch("user-1", request))
+                    .assertNext(response -> assertThat(response.message()).isEqualTo("매칭 성공!"))
+                    .verifyComplete();
+
+        verify(reactiveRedisTemplate, never()).execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-A", "driver_status:driver-A", "busy_drivers")), anyList());
+        assertThat(availabilityCache.isKnownBusy("driver-B")).isTrue();
+    }
+
+    @Test
+    @DisplayName("상태 미러 모드: 배차 가능으로 아는 기사만 Redis 상태 조회를 건너뛰고 운행 중 표시는 Redis로 확인하며, 예약한 기사의 상태 전이를 토픽으로 발행한다")
+    void requestMatch_StatusMirror_PrefiltersLocallyAndPublishesReservation() {
+        // given
+        matchingService = createMatchingService(Map.of(
+                "matching.candidate.batch-enabled", "true",
+                "matching.search.strategy", "SEQUENTIAL",
+                "matching.status-mirror.enabled", "true"));
+        statusMirror.apply(0, 0, "driver-A", false, System.currentTimeMillis());
+        statusMirror.apply(0, 1, "driver-B", true, System.currentTimeMillis());
+        statusMirror.markCaughtUp();
+        MatchRequest request = new MatchRequest(new MatchRequest.Location(127.0, 37.5), new MatchRequest.Location(127.1, 37.6));
+
+        lenient().when(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), anyInt()))
+                 .thenReturn(Flux.empty());
+        given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), eq(1)))
+                .willReturn(Flux.just(new NearbyDriver("driver-A", 0.3), new NearbyDriver("driver-B", 0.6)));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-B", "driver_status:driver-B", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
+        given(kafkaTemplate.send(eq("driver_status"), eq("driver-B"), any()))
+                .willReturn(new CompletableFuture<>());
+        given(outboxRepository.save(any(MatchingOutbox.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when & then
+        StepVerifier.create(matchingService.requestMatch("user-1", request))
+                    .assertNext(response -> assertThat(response.message()).isEqualTo("매칭 성공!"))
+                    .verifyComplete();
+
+        verify(reactiveRedisTemplate, never()).execute(any(RedisScript.class),
+                eq(List.of("driver_status:driver-B")), anyList());
+        verify(reactiveRedisTemplate, never()).execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-A", "driver_status:driver-A", "busy_drivers")), anyList());
+        verify(kafkaTemplate).send(eq("driver_status"), eq("driver-B"),
+                argThat((Object event) -> !((DriverStatusChangedEvent) event).available()));
+    }
+
+    @Test
+    @DisplayName("상태 미러 모드: 배차 가능으로 알던 기사가 예약 시 배차 불가로 확인되면 운행 중 상태를 발행해 미러를 바로잡는다")
+    void requestMatch_StatusMirror_CorrectsStaleAvailable() {
+        // given
+        matchingService = createMatchingService(Map.of(
+                "matching.candidate.batch-enabled", "true",
+                "matching.search.strategy", "SEQUENTIAL",
+                "matching.status-mirror.enabled", "true"));
+        statusMirror.apply(0, 0, "driver-A", true, System.currentTimeMillis());
+        statusMirror.apply(0, 1, "driver-B", true, System.currentTimeMillis());
+        statusMirror.markCaughtUp();
+        MatchRequest request = new MatchRequest(new MatchRequest.Location(127.0, 37.5), new MatchRequest.Location(127.1, 37.6));
+
+        lenient().when(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), anyInt()))
+                 .thenReturn(Flux.empty());
+        given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), eq(1)))
+                .willReturn(Flux.just(new NearbyDriver("driver-A", 0.3), new NearbyDriver("driver-B", 0.6)));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-A", "driver_status:driver-A", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(2L)); // UNAVAILABLE
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-B", "driver_status:driver-B", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
+        given(kafkaTemplate.send(eq("driver_status"), anyString(), any()))
+                .willReturn(new CompletableFuture<>());
+        given(outboxRepository.save(any(MatchingOutbox.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when & then
+        StepVerifier.create(matchingService.requestMatch("user-1", request))
+                    .assertNext(response -> assertThat(response.message()).isEqualTo("매칭 성공!"))
+                    .verifyComplete();
+
+        verify(kafkaTemplate).send(eq("driver_status"), eq("driver-A"),
+                argThat((Object event) -> !((DriverStatusChangedEvent) event).available()));
+    }
+
+    @Test
+    @DisplayName("일괄 조회 모드: 예약에 성공하면 남은 후보는 위치 서비스 응답에서 더 읽지 않는다")
+    void requestMatch_StopsReadingCandidatesAfterReservation() {
+        // given
+        matchingService = createMatchingService(Map.of(
+                "matching.candidate.batch-enabled", "true",
+                "matching.candidate.batch-size", "20",
+                "matching.search.strategy", "SEQUENTIAL"));
+        MatchRequest request = new MatchRequest(new MatchRequest.Location(127.0, 37.5), new MatchRequest.Location(127.1, 37.6));
+        AtomicInteger emitted = new AtomicInteger();
+
+        given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), eq(1)))
+                .willReturn(Flux.range(0, 1000)
+                                .map(i -> new NearbyDriver("driver-" + i, 0.001 * i))
+                                .doOnNext(driver -> emitted.incrementAndGet()));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class), argThat((List<String> keys) -> keys.get(0).startsWith("driver_status:")), anyList()))
+                .willReturn(Flux.just("1".repeat(20)));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-0", "driver_status:driver-0", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
+        given(outboxRepository.save(any(MatchingOutbox.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when & then
+        StepVerifier.create(matchingService.requestMatch("user-1", request))
+                    .assertNext(response -> assertThat(response.message()).isEqualTo("매칭 성공!"))
+                    .verifyComplete();
+
+        // 첫 배치와 concatMap이 미리 받아 둔 다음 배치까지만 읽음 (기본 prefetch였다면 32배치 x 20명)
+        assertThat(emitted.get()).isLessThanOrEqualTo(3 * 20);
+    }
+
+    @Test
+    @DisplayName("요청 묶음 모드: 같은 셀의 요청은 한 번만 조회하고 서로 다른 기사를 경합 없이 가까운 순으로 배정한다")
+    void requestMatch_Coalescing_AssignsDistinctDriversFromSingleLookup() {
+        // given
+        matchingService = createMatchingService(Map.of(
+                "matching.coalescing.enabled", "true",
+                "matching.coalescing.window", "50ms"));
+        MatchRequest first = new MatchRequest(new MatchRequest.Location(127.0001, 37.5001), new MatchRequest.Location(127.1, 37.6));
+        MatchRequest second = new MatchRequest(new MatchRequest.Location(127.0003, 37.5002), new MatchRequest.Location(127.1, 37.6));
+
+        given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), eq(3)))
+                .willReturn(Flux.just(new NearbyDriver("driver-C", 0.9), new NearbyDriver("driver-A", 0.2), new NearbyDriver("driver-B", 0.4)));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("driver_status:driver-C", "driver_status:driver-A", "driver_status:driver-B")), anyList()))
+                .willReturn(Flux.just("111"));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-A", "driver_status:driver-A", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-B", "driver_status:driver-B", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
+        given(outboxRepository.save(any(MatchingOutbox.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when & then
+        StepVerifier.create(Mono.zip(matchingService.requestMatch("user-1", first), matchingService.requestMatch("user-2", second)))
+                    .assertNext(responses -> {
+                        assertThat(responses.getT1().message()).isEqualTo("매칭 성공!");
+                        assertThat(responses.getT2().message()).isEqualTo("매칭 성공!");
+                    })
+                    .verifyComplete();
+
+        verify(locationServiceClient, times(1)).findNearbyDrivers(anyDouble(), anyDouble(), anyInt());
+        verify(reactiveRedisTemplate, never()).execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-C", "driver_status:driver-C", "busy_drivers")), anyList());
+        verify(outboxRepository).save(argThat((MatchingOutbox outbox) -> codec.decode(outbox.getPayload()).driverId().equals("driver-A")));
+        verify(outboxRepository).save(argThat((MatchingOutbox outbox) -> codec.decode(outbox.getPayload()).driverId().equals("driver-B")));
+    }
+
+    @Test
+    @DisplayName("요청 묶음 모드: 한 자리의 예약이 오류로 끝나도 다른 요청은 이미 예약된 기사를 그대로 배정받는다")
+    void requestMatch_Coalescing_KeepsReservedDriversWhenOneReservationFails() {
+        // given
+        matchingService = createMatchingService(Map.of(
+                "matching.coalescing.enabled", "true",
+                "matching.coalescing.window", "50ms",
+                "matching.search.strategy", "WIDEST"));
+        MatchRequest first = new MatchRequest(new MatchRequest.Location(127.0001, 37.5001), new MatchRequest.Location(127.1, 37.6));
+        MatchRequest second = new MatchRequest(new MatchRequest.Location(127.0003, 37.5002), new MatchRequest.Location(127.1, 37.6));
+
+        given(locationServiceClient.findNearbyDrivers(anyDouble(), anyDouble(), eq(3)))
+                .willReturn(Flux.just(new NearbyDriver("driver-A", 0.2), new NearbyDriver("driver-B", 0.4)), Flux.empty());
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("driver_status:driver-A", "driver_status:driver-B")), anyList()))
+                .willReturn(Flux.just("11"));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-A", "driver_status:driver-A", "busy_drivers")), anyList()))
+                .willReturn(Flux.just(0L));
+        given(reactiveRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("matching_lock:driver-B", "driver_status:driver-B", "busy_drivers")), anyList()))
+                .willReturn(Flux.error(new IllegalStateException("Redis 연결 끊김")));
+        given(outboxRepository.save(any(MatchingOutbox.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when & then (두 번째 요청은 개별 검색으로 넘어가 기사를 찾지 못함)
+        StepVerifier.create(Mono.zip(
+                            matchingService.requestMatch("user-1", first).map(MatchResponse::message),
+                            matchingService.requestMatch("user-2", second).map(MatchResponse::message)
+                                           .onErrorResume(error -> Mono.just(error.getMessage()))))
+                    .assertNext(results -> {
+                        assertThat(results.getT1()).isEqualTo("매칭 성공!");
+                        assertThat(results.getT2()).isEqualTo("배차 가능한 기사가 없습니다.");
+                    })
+                    .verifyComplete();
+
+        verify(outboxRepository).save(argThat((MatchingOutbox outbox) -> codec.decode(outbox.getPayload()).driverId().equals("driver-A")));
     }
-}
\ No newline at end of file
+}
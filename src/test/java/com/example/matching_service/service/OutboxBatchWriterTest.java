@@ -0,0 +1,111 @@
+package com.example.matching_service.service;
+
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import com.example.matching_service.entity.MatchingOutbox;
+import com.example.matching_service.kafka.OutboxSavedEvent;
+import com.example.matching_service.repository.MatchingOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxBatchWriterTest {
+
+    private OutboxBatchWriter writer;
+
+    @Mock private MatchingOutboxRepository outboxRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        writer = new OutboxBatchWriter(outboxRepository, transactionTemplate,
+                MatchingPropertiesFixture.with(Map.of("matching.outbox-writer.linger", "200ms")),
+                eventPublisher, Schedulers.boundedElastic());
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    private MatchingOutbox outbox(String aggregateId) {
+        return MatchingOutbox.builder()
+                             .aggregateId(aggregateId)
+                             .topic("matching_events")
+                             .payload(new byte[]{1})
+                             .build();
+    }
+
+    @Test
+    @DisplayName("linger 안에 들어온 행은 한 트랜잭션의 saveAll 한 번으로 저장되고, 커밋 후 모든 호출자가 완료된다")
+    void write_CoalescesConcurrentRowsIntoOneBatch() {
+        // given
+        AtomicLong sequence = new AtomicLong();
+        given(outboxRepository.saveAll(anyList())).willAnswer(invocation -> {
+            List<MatchingOutbox> rows = invocation.getArgument(0);
+            rows.forEach(row -> ReflectionTestUtils.setField(row, "id", sequence.incrementAndGet()));
+            return rows;
+        });
+
+        // when
+        Mono<Void> writes = Mono.when(writer.write(outbox("trip-1")),
+                                      writer.write(outbox("trip-2")),
+                                      writer.write(outbox("trip-3")));
+
+        // then
+        StepVerifier.create(writes).verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MatchingOutbox>> rows = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository, times(1)).saveAll(rows.capture());
+        assertThat(rows.getValue()).extracting(MatchingOutbox::getAggregateId)
+                                   .containsExactly("trip-1", "trip-2", "trip-3");
+        verify(outboxRepository, never()).save(any());
+        verify(eventPublisher, times(1)).publishEvent(new OutboxSavedEvent(3L));
+    }
+
+    @Test
+    @DisplayName("배치 저장이 실패하면 배치에 속한 모든 호출자가 에러를 받는다 (매칭 롤백 대상)")
+    void write_FailsWholeBatchOnError() {
+        // given
+        given(outboxRepository.saveAll(anyList())).willThrow(new RuntimeException("DB Error"));
+
+        // when
+        Mono<Void> first = writer.write(outbox("trip-1"));
+        Mono<Void> second = writer.write(outbox("trip-2"));
+
+        // then
+        StepVerifier.create(Mono.when(first.onErrorResume(e -> Mono.empty()), second))
+                    .expectErrorMessage("DB Error")
+                    .verify();
+        verify(eventPublisher, never()).publishEvent(any(OutboxSavedEvent.class));
+    }
+}
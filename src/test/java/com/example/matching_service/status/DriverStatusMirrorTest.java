@@ -0,0 +1,75 @@
+package com.example.matching_service.status;
+
+import com.example.matching_service.config.MatchingPropertiesFixture;
+import com.example.matching_service.status.DriverStatusMirror.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DriverStatusMirrorTest {
+
+    private DriverStatusMirror mirror;
+
+    @BeforeEach
+    void setUp() {
+        mirror = newMirror();
+    }
+
+    private static DriverStatusMirror newMirror() {
+        return new DriverStatusMirror(MatchingPropertiesFixture.with(Map.of("matching.status-mirror.enabled", "true")),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("토픽을 따라잡기 전에는 UNKNOWN, 이후에는 마지막 상태를 돌려주고 tombstone이면 제거한다")
+    void statusOf_ReflectsLatestRecordAfterCatchUp() {
+        // given
+        long now = System.currentTimeMillis();
+        mirror.apply(0, 0, "driver-A", true, now);
+        mirror.apply(0, 1, "driver-A", false, now);
+        mirror.apply(1, 0, "driver-B", true, now);
+
+        // when & then
+        assertThat(mirror.statusOf("driver-A")).isEqualTo(Status.UNKNOWN);
+
+        mirror.markCaughtUp();
+        assertThat(mirror.statusOf("driver-A")).isEqualTo(Status.BUSY);
+        assertThat(mirror.statusOf("driver-B")).isEqualTo(Status.AVAILABLE);
+        assertThat(mirror.statusOf("driver-X")).isEqualTo(Status.UNKNOWN);
+
+        mirror.apply(1, 2, "driver-B", null, now);
+        assertThat(mirror.statusOf("driver-B")).isEqualTo(Status.UNKNOWN);
+        assertThat(mirror.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("스냅샷을 복원하면 테이블과 파티션별 다음 오프셋이 이어지고, 이미 반영된 오프셋은 다시 적용하지 않는다")
+    void restore_ResumesFromSnapshotOffsets() {
+        // given
+        long now = System.currentTimeMillis();
+        mirror.apply(0, 0, "driver-A", false, now);
+        mirror.apply(0, 1, "driver-B", true, now);
+        mirror.apply(2, 7, "driver-C", true, now);
+        byte[] snapshot = mirror.snapshot();
+
+        // when
+        DriverStatusMirror restored = newMirror();
+        restored.restore(snapshot);
+        restored.apply(0, 1, "driver-B", false, now); // 스냅샷에 포함된 레코드 재전달
+        restored.apply(0, 2, "driver-A", true, now);
+        restored.markCaughtUp();
+
+        // then
+        assertThat(restored.nextOffset(0)).isEqualTo(3);
+        assertThat(restored.nextOffset(2)).isEqualTo(8);
+        assertThat(restored.nextOffset(1)).isEqualTo(-1);
+        assertThat(restored.statusOf("driver-A")).isEqualTo(Status.AVAILABLE);
+        assertThat(restored.statusOf("driver-B")).isEqualTo(Status.AVAILABLE);
+        assertThat(restored.statusOf("driver-C")).isEqualTo(Status.AVAILABLE);
+    }
+}